@@ -0,0 +1,68 @@
+package com.redcare.githubscoring.benchmark;
+
+import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.service.GitHubRateLimiter;
+import com.redcare.githubscoring.service.GitHubTokenPool;
+import com.redcare.githubscoring.service.ScoringMetrics;
+import com.redcare.githubscoring.service.WeightedScoringProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic inputs shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static ScoringMetrics metrics() {
+        return new ScoringMetrics(new SimpleMeterRegistry(), List.of("java"));
+    }
+
+    /**
+     * A token pool that never holds back requests, so that benchmarks measure the code under test only.
+     */
+    static GitHubTokenPool unlimitedTokenPool() {
+        return GitHubTokenPool.anonymous(new GitHubRateLimiter(Integer.MAX_VALUE, Integer.MAX_VALUE, Duration.ZERO, 0, Duration.ZERO));
+    }
+
+    static WeightedScoringProvider scoringProvider() {
+        WeightedScoringProvider provider = new WeightedScoringProvider();
+        ReflectionTestUtils.setField(provider, "starsWeight", 4.0);
+        ReflectionTestUtils.setField(provider, "forksWeight", 3.0);
+        ReflectionTestUtils.setField(provider, "recencyWeight", 0.3);
+        return provider;
+    }
+
+    /**
+     * Repositories with a long-tailed star distribution, created within the last ten years.
+     */
+    static List<GitHubRepository> repositories(int size, long seed) {
+        Random random = new Random(seed);
+        LocalDateTime now = LocalDateTime.now();
+        List<GitHubRepository> repositories = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int stars = (int) Math.min(Integer.MAX_VALUE / 2, Math.exp(random.nextDouble() * 12));
+            int ageDays = random.nextInt(3650);
+            GitHubRepository repo = new GitHubRepository();
+            repo.setId((long) i);
+            repo.setName("repo" + i);
+            repo.setFullName("owner" + (i % 97) + "/repo" + i);
+            repo.setDescription("Benchmark repository " + i);
+            repo.setLanguage("Java");
+            repo.setStargazersCount(stars);
+            repo.setForksCount(stars / (2 + random.nextInt(10)));
+            repo.setOpenIssuesCount(random.nextInt(500));
+            repo.setCreatedAt(now.minusDays(ageDays));
+            repo.setUpdatedAt(now.minusDays(random.nextInt(ageDays + 1)));
+            repositories.add(repo);
+        }
+        return repositories;
+    }
+}
@@ -0,0 +1,72 @@
+package com.redcare.githubscoring.benchmark;
+
+import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.model.RepositoryColumns;
+import com.redcare.githubscoring.service.WeightedScoringProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares scoring a result set one repository at a time through {@link WeightedScoringProvider#score}
+ * with the primitive batch path {@link WeightedScoringProvider#scoreAll}, and measures
+ * {@link WeightedScoringProvider#recencyScore} on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringBenchmark {
+
+    @Param({"30", "1000", "10000"})
+    private int size;
+
+    private WeightedScoringProvider provider;
+
+    private List<GitHubRepository> repositories;
+
+    @Setup
+    public void setUp() {
+        provider = BenchmarkData.scoringProvider();
+        repositories = BenchmarkData.repositories(size, 42);
+    }
+
+    @Benchmark
+    public void perRepository(Blackhole blackhole) {
+        int maxStars = 1;
+        int maxForks = 1;
+        for (GitHubRepository repo : repositories) {
+            maxStars = Math.max(maxStars, repo.getStargazersCount());
+            maxForks = Math.max(maxForks, repo.getForksCount());
+        }
+        for (GitHubRepository repo : repositories) {
+            blackhole.consume(provider.score(repo, maxStars, maxForks));
+        }
+    }
+
+    @Benchmark
+    public void recencyScore(Blackhole blackhole) {
+        for (GitHubRepository repo : repositories) {
+            blackhole.consume(provider.recencyScore(repo));
+        }
+    }
+
+    @Benchmark
+    public double[] batch() {
+        return provider.scoreAll(RepositoryColumns.of(repositories), LocalDate.now());
+    }
+}
@@ -0,0 +1,99 @@
+package com.redcare.githubscoring.benchmark;
+
+import com.redcare.githubscoring.dto.RepositoryScoreResponse;
+import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.model.RepositoryQuery;
+import com.redcare.githubscoring.service.GitHubService;
+import com.redcare.githubscoring.service.RepositoryIndexService;
+import com.redcare.githubscoring.service.RepositoryScoringService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@link RepositoryScoringService#scoreRepositories} end to end over already fetched repositories,
+ * with GitHub replaced by a fixed result list. {@code cold} drops the cached scores before every call,
+ * {@code cached} measures the repeated request that reuses them. {@code indexedTop10} answers the last year's
+ * repositories from the in-memory index, with cached scores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringServiceBenchmark {
+
+    @Param({"30", "1000", "10000"})
+    private int size;
+
+    private ConcurrentMapCacheManager cacheManager;
+
+    private RepositoryScoringService scoringService;
+
+    private LocalDateTime createdAfter;
+
+    private LocalDateTime indexedCreatedAfter;
+
+    @Setup
+    public void setUp() {
+        List<GitHubRepository> repositories = BenchmarkData.repositories(size, 42);
+        GitHubService gitHubService = new GitHubService(null, null, null, null) {
+            @Override
+            public List<GitHubRepository> searchRepositories(String language, LocalDate createdAfter) {
+                return repositories;
+            }
+
+            @Override
+            public CompletableFuture<List<GitHubRepository>> fetchRepositories(RepositoryQuery query) {
+                return CompletableFuture.completedFuture(repositories);
+            }
+        };
+        RepositoryIndexService repositoryIndex = new RepositoryIndexService(gitHubService, List.of("kotlin"),
+                Duration.ofDays(3660), Duration.ofDays(1));
+        repositoryIndex.refresh();
+        cacheManager = new ConcurrentMapCacheManager();
+        scoringService = new RepositoryScoringService(gitHubService, BenchmarkData.scoringProvider(), cacheManager,
+                BenchmarkData.metrics(), repositoryIndex);
+        createdAfter = LocalDate.now().minusYears(10).atStartOfDay();
+        indexedCreatedAfter = LocalDate.now().minusYears(1).atStartOfDay();
+    }
+
+    @Benchmark
+    public List<RepositoryScoreResponse> cold() {
+        Objects.requireNonNull(cacheManager.getCache(RepositoryScoringService.SCORES_CACHE)).clear();
+        return scoringService.scoreRepositories("java", createdAfter);
+    }
+
+    @Benchmark
+    public List<RepositoryScoreResponse> coldTop10() {
+        Objects.requireNonNull(cacheManager.getCache(RepositoryScoringService.SCORES_CACHE)).clear();
+        return scoringService.scoreRepositories("java", createdAfter, 0, 10);
+    }
+
+    @Benchmark
+    public List<RepositoryScoreResponse> cached() {
+        return scoringService.scoreRepositories("java", createdAfter);
+    }
+
+    @Benchmark
+    public List<RepositoryScoreResponse> indexedTop10() {
+        return scoringService.scoreRepositories("kotlin", indexedCreatedAfter, 0, 10);
+    }
+}
@@ -0,0 +1,76 @@
+package com.redcare.githubscoring.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.redcare.githubscoring.config.AppConfig;
+import com.redcare.githubscoring.model.GitHubSearchPage;
+import com.redcare.githubscoring.service.GitHubSearchResponseParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserializes realistic GitHub search pages, built from the recorded fixture used by the parser tests,
+ * with the streaming {@link GitHubSearchResponseParser} and with plain data binding for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchResponseParserBenchmark {
+
+    /**
+     * The fixture holds 20 repositories; 100 is the page size used for upstream requests.
+     */
+    @Param({"20", "100"})
+    private int items;
+
+    private final ObjectMapper objectMapper = new AppConfig().objectMapper();
+
+    private final GitHubSearchResponseParser parser = new GitHubSearchResponseParser(objectMapper);
+
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        JsonNode fixture;
+        try (InputStream in = new ClassPathResource("github/search-repositories.json").getInputStream()) {
+            fixture = new ObjectMapper().readTree(in);
+        }
+        ArrayNode fixtureItems = (ArrayNode) fixture.get("items");
+        ArrayNode page = ((ObjectNode) fixture).putArray("items");
+        for (int i = 0; i < items; i++) {
+            ObjectNode item = fixtureItems.get(i % fixtureItems.size()).deepCopy();
+            item.put("id", item.get("id").asLong() + i);
+            page.add(item);
+        }
+        body = new ObjectMapper().writeValueAsBytes(fixture);
+    }
+
+    @Benchmark
+    public GitHubSearchPage streaming() throws IOException {
+        return parser.parse(new ByteArrayInputStream(body));
+    }
+
+    @Benchmark
+    public GitHubSearchPage dataBinding() throws IOException {
+        return objectMapper.readValue(new ByteArrayInputStream(body), GitHubSearchPage.class);
+    }
+}
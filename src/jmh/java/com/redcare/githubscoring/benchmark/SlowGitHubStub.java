@@ -0,0 +1,69 @@
+package com.redcare.githubscoring.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal keep-alive HTTP/1.1 server answering every request with the same body after a fixed delay.
+ * Each connection is served by its own virtual thread, so the stub itself is never the bottleneck.
+ */
+final class SlowGitHubStub implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+
+    private final ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor();
+
+    SlowGitHubStub(byte[] body, int latencyMillis) throws IOException {
+        serverSocket = new ServerSocket(0, 4096, InetAddress.getLoopbackAddress());
+        byte[] headers = ("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: " + body.length
+                + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        byte[] response = new byte[headers.length + body.length];
+        System.arraycopy(headers, 0, response, 0, headers.length);
+        System.arraycopy(body, 0, response, headers.length, body.length);
+
+        connections.submit(() -> {
+            while (!serverSocket.isClosed()) {
+                Socket socket = serverSocket.accept();
+                connections.submit(() -> serve(socket, response, latencyMillis));
+            }
+            return null;
+        });
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + serverSocket.getLocalPort();
+    }
+
+    private static Void serve(Socket socket, byte[] response, int latencyMillis) throws Exception {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.US_ASCII));
+            OutputStream out = socket.getOutputStream();
+            while (in.readLine() != null) {
+                String header;
+                do {
+                    header = in.readLine();
+                } while (header != null && !header.isEmpty());
+                Thread.sleep(latencyMillis);
+                out.write(response);
+                out.flush();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+}
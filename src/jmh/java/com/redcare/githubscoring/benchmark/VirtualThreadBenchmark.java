@@ -0,0 +1,161 @@
+package com.redcare.githubscoring.benchmark;
+
+import com.redcare.githubscoring.config.AppConfig;
+import com.redcare.githubscoring.config.ExecutorConfig;
+import com.redcare.githubscoring.model.RepositoryQuery;
+import com.redcare.githubscoring.service.GitHubPageValidators;
+import com.redcare.githubscoring.service.GitHubSearchClient;
+import com.redcare.githubscoring.service.GitHubSearchResponseParser;
+import com.redcare.githubscoring.service.GitHubService;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Serves a burst of concurrent blocking searches against a slow local GitHub stub, with requests handled
+ * either by a Tomcat-sized pool of platform threads or by one virtual thread each, and the page fan-out
+ * running on the matching {@link ExecutorConfig} executor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+    /**
+     * Tomcat's default maximum number of request threads.
+     */
+    private static final int PLATFORM_REQUEST_THREADS = 200;
+
+    /**
+     * Upstream concurrency high enough for the request threads, not GitHub, to be the limit.
+     */
+    private static final int SEARCH_CONCURRENCY = 1024;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"1000"})
+    private int concurrentRequests;
+
+    @Param({"100"})
+    private int latencyMillis;
+
+    private SlowGitHubStub stub;
+
+    private ExecutorService requestExecutor;
+
+    private AsyncTaskExecutor searchExecutor;
+
+    private CloseableHttpClient httpClient;
+
+    private GitHubService gitHubService;
+
+    private int burst;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        stub = new SlowGitHubStub(searchResponse(250, 10).getBytes(StandardCharsets.UTF_8), latencyMillis);
+
+        boolean virtual = threads.equals("virtual");
+        requestExecutor = virtual
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_REQUEST_THREADS);
+        ExecutorConfig executorConfig = new ExecutorConfig();
+        ReflectionTestUtils.setField(executorConfig, "virtualThreads", virtual);
+        searchExecutor = executorConfig.githubSearchExecutor(SEARCH_CONCURRENCY);
+        if (searchExecutor instanceof ThreadPoolTaskExecutor pool) {
+            pool.initialize();
+        }
+
+        httpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(SEARCH_CONCURRENCY)
+                        .setMaxConnPerRoute(SEARCH_CONCURRENCY)
+                        .build())
+                .build();
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAsyncCacheMode(true);
+
+        GitHubSearchClient searchClient = new GitHubSearchClient(
+                new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient)),
+                new GitHubSearchResponseParser(new AppConfig().objectMapper()), BenchmarkData.metrics(),
+                BenchmarkData.unlimitedTokenPool(), new GitHubPageValidators(cacheManager));
+        ReflectionTestUtils.setField(searchClient, "baseUrl", stub.baseUrl());
+        ReflectionTestUtils.setField(searchClient, "apiPath", "/search/repositories");
+        gitHubService = new GitHubService(searchClient, cacheManager, BenchmarkData.metrics(), searchExecutor);
+        ReflectionTestUtils.setField(gitHubService, "maxPages", 10);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        requestExecutor.shutdownNow();
+        if (searchExecutor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+        httpClient.close();
+        stub.close();
+    }
+
+    /**
+     * Each request blocks its thread until the three pages of its search have been fetched and merged.
+     */
+    @Benchmark
+    public int burst() throws Exception {
+        int run = burst++;
+        List<Future<Integer>> responses = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            RepositoryQuery query = new RepositoryQuery("lang" + run + "-" + i, LocalDate.of(2024, 1, 1));
+            responses.add(requestExecutor.submit(() -> gitHubService.fetchRepositories(query).join().size()));
+        }
+        int repositories = 0;
+        for (Future<Integer> response : responses) {
+            repositories += response.get();
+        }
+        return repositories;
+    }
+
+    private static String searchResponse(int totalCount, int items) {
+        String repositories = IntStream.range(0, items)
+                .mapToObj(id -> String.format("""
+                        {"id":%d,"name":"repo%d","full_name":"owner/repo%d","language":"Java",
+                         "stargazers_count":%d,"forks_count":1,"open_issues_count":0,
+                         "created_at":"2024-02-01T10:00:00Z","updated_at":"2024-03-01T10:00:00Z"}""",
+                        id, id, id, 1000 - id))
+                .collect(Collectors.joining(","));
+        return String.format("{\"total_count\":%d,\"incomplete_results\":false,\"items\":[%s]}",
+                totalCount, repositories);
+    }
+}
@@ -0,0 +1,210 @@
+package com.redcare.githubscoring.config;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.model.RepositoryQuery;
+import com.redcare.githubscoring.service.GitHubPageValidators;
+import com.redcare.githubscoring.service.GitHubService;
+import com.redcare.githubscoring.service.RepositoryScoringService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+@Configuration
+public class CacheConfig {
+
+    @Value("${github.cache.repositories.soft-ttl:10m}")
+    private Duration repositoriesSoftTtl;
+
+    @Value("${github.cache.repositories.hard-ttl:60m}")
+    private Duration repositoriesHardTtl;
+
+    @Value("${github.cache.repositories.historical-hard-ttl:6h}")
+    private Duration repositoriesHistoricalHardTtl;
+
+    @Value("${github.cache.repositories.historical-after:365d}")
+    private Duration repositoriesHistoricalAfter;
+
+    @Value("${github.cache.repositories.maximum-weight:200000}")
+    private long repositoriesMaximumWeight;
+
+    @Value("${github.cache.pages.maximum-weight:200000}")
+    private long pagesMaximumWeight;
+
+    @Value("${github.cache.scores.maximum-weight:200000}")
+    private long scoresMaximumWeight;
+
+    @Value("${github.cache.scores.ttl:30m}")
+    private Duration scoresTtl;
+
+    /**
+     * Backs every cache with a Caffeine {@code AsyncCache} so that a value being loaded is stored as a
+     * future: concurrent misses for the same key share that future instead of each loading the value.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> asyncCacheModeCustomizer() {
+        return cacheManager -> cacheManager.setAsyncCacheMode(true);
+    }
+
+    /**
+     * Registers the {@code repositories} cache with stale-while-revalidate semantics: once an entry is older
+     * than the soft TTL the next read still returns it immediately, while a background reload fetches it again
+     * from GitHub. If the reload fails the stale entry is kept until it reaches its hard TTL, which is longer for
+     * {@link RepositoriesCacheExpiry historical queries}.
+     * The cache is bounded by the total number of cached repositories rather than by the number of entries.
+     * Reloads revalidate the cached pages with conditional requests; a reload that finds nothing changed keeps
+     * the cached list and restarts its TTLs. Entries covered by a complete entry of an earlier date for the same
+     * language are loaded and reloaded by filtering that entry instead of calling GitHub.
+     * Hit, miss, eviction and load statistics are recorded and published through Actuator's cache metrics.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> repositoriesCacheCustomizer(
+            ObjectProvider<GitHubService> gitHubService) {
+        return cacheManager -> cacheManager.registerCustomCache(GitHubService.REPOSITORIES_CACHE,
+                repositoriesCacheBuilder(repositoriesSoftTtl, repositoriesCacheExpiry(), repositoriesMaximumWeight,
+                        Ticker.systemTicker())
+                        .buildAsync(new AsyncCacheLoader<Object, Object>() {
+                            @Override
+                            public CompletableFuture<?> asyncLoad(Object key, Executor executor) {
+                                return gitHubService.getObject().loadRepositories((RepositoryQuery) key);
+                            }
+
+                            @Override
+                            @SuppressWarnings("unchecked")
+                            public CompletableFuture<?> asyncReload(Object key, Object oldValue, Executor executor) {
+                                return gitHubService.getObject()
+                                        .refreshRepositories((RepositoryQuery) key, (List<GitHubRepository>) oldValue);
+                            }
+                        }));
+    }
+
+    /**
+     * Registers the {@code github-pages} cache holding the last response of every GitHub search page with its
+     * validators, for conditional requests. Pages are kept for as long as the longest-lived repository lists built
+     * from them. Like the {@code repositories} cache it is bounded by the total number of repositories on the cached
+     * pages, since every page holds up to a hundred full repositories.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> pagesCacheCustomizer() {
+        return cacheManager -> cacheManager.registerCustomCache(GitHubPageValidators.PAGES_CACHE,
+                pagesCacheBuilder(repositoriesCacheExpiry().maximumTtl(), pagesMaximumWeight).buildAsync());
+    }
+
+    /**
+     * Registers the {@code scores} cache holding the scores of every ranked repository list together with the list
+     * itself. Like the {@code repositories} cache it is bounded by the total number of repositories it scores, since
+     * a single entry may score a handful of repositories or tens of thousands.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> scoresCacheCustomizer() {
+        return cacheManager -> cacheManager.registerCustomCache(RepositoryScoringService.SCORES_CACHE,
+                scoresCacheBuilder(scoresTtl, scoresMaximumWeight).buildAsync());
+    }
+
+    /**
+     * Publishes the total weight of the {@code repositories}, {@code github-pages} and {@code scores} caches, the
+     * number of repositories they hold, next to their maximum weights, for sizing the heap against. Both are NaN
+     * while a cache is not weight-bounded.
+     */
+    @Bean
+    public MeterBinder repositoriesCacheWeightMetrics(CacheManager cacheManager) {
+        return registry -> {
+            for (String name : List.of(GitHubService.REPOSITORIES_CACHE, GitHubPageValidators.PAGES_CACHE,
+                    RepositoryScoringService.SCORES_CACHE)) {
+                Gauge.builder("cache.weight", cacheManager,
+                                manager -> weight(manager, name, Policy.Eviction::weightedSize))
+                        .tag("cache", name)
+                        .description("Total weight of the cached entries, in repositories")
+                        .register(registry);
+                Gauge.builder("cache.weight.max", cacheManager, manager -> weight(manager, name,
+                                eviction -> OptionalLong.of(eviction.getMaximum())))
+                        .tag("cache", name)
+                        .description("Maximum total weight of the cached entries, in repositories")
+                        .register(registry);
+            }
+        };
+    }
+
+    public static Caffeine<Object, Object> repositoriesCacheBuilder(Duration softTtl, Expiry<Object, Object> expiry,
+                                                                    long maximumWeight, Ticker ticker) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher(CacheConfig::repositoriesWeight)
+                .refreshAfterWrite(softTtl)
+                .expireAfter(expiry)
+                .ticker(ticker)
+                .recordStats();
+    }
+
+    public static Caffeine<Object, Object> pagesCacheBuilder(Duration ttl, long maximumWeight) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher(CacheConfig::pagesWeight)
+                .expireAfterWrite(ttl)
+                .recordStats();
+    }
+
+    public static Caffeine<Object, Object> scoresCacheBuilder(Duration ttl, long maximumWeight) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher(RepositoryScoringService::scoresWeight)
+                .expireAfterWrite(ttl)
+                .recordStats();
+    }
+
+    /**
+     * Weighs a cached repository list by its number of repositories; every entry weighs at least one.
+     */
+    static int repositoriesWeight(Object key, Object value) {
+        return value instanceof List<?> repositories ? Math.max(1, repositories.size()) : 1;
+    }
+
+    /**
+     * Weighs a cached page by the number of repositories on it; every entry weighs at least one.
+     */
+    static int pagesWeight(Object key, Object value) {
+        return value instanceof GitHubPageValidators.ValidatedPage validated && validated.page().getItems() != null
+                ? Math.max(1, validated.page().getItems().size())
+                : 1;
+    }
+
+    /**
+     * Hard TTLs of the {@code repositories} cache, by query; entries of the shared cache tier live as long.
+     */
+    @Bean
+    public RepositoriesCacheExpiry repositoriesCacheExpiry() {
+        return new RepositoriesCacheExpiry(repositoriesHardTtl, repositoriesHistoricalHardTtl,
+                repositoriesHistoricalAfter, Clock.systemUTC());
+    }
+
+    private static double weight(CacheManager cacheManager, String name,
+                                 Function<Policy.Eviction<Object, Object>, OptionalLong> value) {
+        if (!(cacheManager.getCache(name) instanceof CaffeineCache cache)) {
+            return Double.NaN;
+        }
+        return cache.getNativeCache().policy().eviction()
+                .filter(Policy.Eviction::isWeighted)
+                .map(value)
+                .filter(OptionalLong::isPresent)
+                .map(weight -> (double) weight.getAsLong())
+                .orElse(Double.NaN);
+    }
+}
@@ -0,0 +1,56 @@
+package com.redcare.githubscoring.config;
+
+import com.redcare.githubscoring.controller.ConcurrencyLimitInterceptor;
+import com.redcare.githubscoring.service.AdaptiveConcurrencyLimiter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import java.time.Duration;
+
+/**
+ * Adaptive concurrency limits, enabled with {@code scoring.concurrency-limit.enabled}. The {@code requests} limiter
+ * admits scoring requests, and the {@code upstream} limiter is a bulkhead for GitHub requests, so that cache misses
+ * are shed while GitHub is slow and cache hits keep being served. Actuator endpoints are never limited.
+ */
+@Configuration
+@ConditionalOnProperty(name = "scoring.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private final AdaptiveConcurrencyLimiter requestConcurrencyLimiter;
+
+    public ConcurrencyLimitConfig(@Qualifier("requestConcurrencyLimiter") AdaptiveConcurrencyLimiter limiter) {
+        this.requestConcurrencyLimiter = limiter;
+    }
+
+    @Bean
+    public static AdaptiveConcurrencyLimiter requestConcurrencyLimiter(
+            @Value("${scoring.concurrency-limit.requests.initial-limit:20}") int initialLimit,
+            @Value("${scoring.concurrency-limit.requests.min-limit:4}") int minLimit,
+            @Value("${scoring.concurrency-limit.requests.max-limit:200}") int maxLimit,
+            @Value("${scoring.concurrency-limit.requests.latency-threshold:2s}") Duration latencyThreshold,
+            @Value("${scoring.concurrency-limit.retry-after:1s}") Duration retryAfter) {
+        return new AdaptiveConcurrencyLimiter("requests", initialLimit, minLimit, maxLimit, latencyThreshold,
+                retryAfter);
+    }
+
+    @Bean
+    public static AdaptiveConcurrencyLimiter upstreamConcurrencyLimiter(
+            @Value("${scoring.concurrency-limit.upstream.initial-limit:8}") int initialLimit,
+            @Value("${scoring.concurrency-limit.upstream.min-limit:1}") int minLimit,
+            @Value("${scoring.concurrency-limit.upstream.max-limit:32}") int maxLimit,
+            @Value("${scoring.concurrency-limit.upstream.latency-threshold:3s}") Duration latencyThreshold,
+            @Value("${scoring.concurrency-limit.retry-after:1s}") Duration retryAfter) {
+        return new AdaptiveConcurrencyLimiter("upstream", initialLimit, minLimit, maxLimit, latencyThreshold,
+                retryAfter);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(requestConcurrencyLimiter))
+                .addPathPatterns("/score", "/score/batch");
+    }
+}
@@ -0,0 +1,118 @@
+package com.redcare.githubscoring.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Executors for the internal fan-out. With {@code spring.threads.virtual.enabled} every task gets its own
+ * virtual thread, like Tomcat request handling then does, and the configured concurrency is enforced
+ * by a semaphore inside the task rather than by the number of threads.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /**
+     * Bounded executor used to fetch GitHub search pages concurrently.
+     * Its concurrency caps the number of in-flight upstream requests across all queries.
+     */
+    @Bean
+    public AsyncTaskExecutor githubSearchExecutor(@Value("${github.search.concurrency:4}") int concurrency) {
+        return boundedExecutor("github-search-", concurrency);
+    }
+
+    /**
+     * Bounded executor that scores the queries of a batch request in parallel.
+     * It is kept apart from the search executor, whose tasks the scoring tasks wait on.
+     */
+    @Bean
+    public AsyncTaskExecutor scoringExecutor(@Value("${scoring.batch.concurrency:4}") int concurrency) {
+        return boundedExecutor("scoring-", concurrency);
+    }
+
+    /**
+     * Bounded executor producing streamed responses, each of which holds a thread for as long as it streams.
+     * At most {@code queueCapacity} streams wait for a thread; further streams are rejected with a
+     * {@link TaskRejectedException} rather than queued without bound.
+     */
+    @Bean
+    public AsyncTaskExecutor streamingExecutor(@Value("${scoring.stream.concurrency:8}") int concurrency,
+                                               @Value("${scoring.stream.queue-capacity:16}") int queueCapacity) {
+        if (virtualThreads) {
+            return virtualThreadExecutor("scoring-stream-", concurrency, queueCapacity);
+        }
+        ThreadPoolTaskExecutor executor = platformThreadExecutor("scoring-stream-", concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        return executor;
+    }
+
+    private AsyncTaskExecutor boundedExecutor(String threadNamePrefix, int concurrency) {
+        if (virtualThreads) {
+            return virtualThreadExecutor(threadNamePrefix, concurrency);
+        }
+        return platformThreadExecutor(threadNamePrefix, concurrency);
+    }
+
+    private static ThreadPoolTaskExecutor platformThreadExecutor(String threadNamePrefix, int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        return executor;
+    }
+
+    /**
+     * Starts a virtual thread per task. Submitting never blocks: a task waits for one of {@code concurrency}
+     * permits on its own virtual thread, so tasks that submit further tasks, as the page and shard fan-out does
+     * from completion callbacks, cannot starve each other of permits.
+     */
+    static SimpleAsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix, int concurrency) {
+        Semaphore permits = new Semaphore(concurrency);
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(task -> () -> {
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        });
+        return executor;
+    }
+
+    /**
+     * Like {@link #virtualThreadExecutor(String, int)}, but admits at most {@code queueCapacity} tasks waiting for a
+     * permit. The task decorator runs on the submitting thread, so a task beyond that is rejected on submission.
+     */
+    static SimpleAsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix, int concurrency,
+                                                         int queueCapacity) {
+        Semaphore admitted = new Semaphore(concurrency + queueCapacity);
+        Semaphore permits = new Semaphore(concurrency);
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(task -> {
+            if (!admitted.tryAcquire()) {
+                throw new TaskRejectedException("Executor " + threadNamePrefix + " is saturated");
+            }
+            return () -> {
+                permits.acquireUninterruptibly();
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                    admitted.release();
+                }
+            };
+        });
+        return executor;
+    }
+}
@@ -0,0 +1,94 @@
+package com.redcare.githubscoring.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import java.time.Duration;
+
+/**
+ * HTTP client used for GitHub API calls: a pooled keep-alive connection manager with
+ * connect/read timeouts and transparent gzip/deflate response decompression.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${github.http.max-total:50}")
+    private int maxTotal;
+
+    @Value("${github.http.max-per-route:20}")
+    private int maxPerRoute;
+
+    @Value("${github.http.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${github.http.read-timeout:30s}")
+    private Duration readTimeout;
+
+    @Value("${github.http.connection-request-timeout:5s}")
+    private Duration connectionRequestTimeout;
+
+    @Value("${github.http.idle-timeout:60s}")
+    private Duration idleTimeout;
+
+    @Value("${github.http.compression:true}")
+    private boolean compression;
+
+    @Bean
+    public PoolingHttpClientConnectionManager githubConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Unless {@code github.http.compression} is disabled, the client sends
+     * {@code Accept-Encoding: gzip, x-gzip, deflate} and decompresses response bodies before they are read.
+     */
+    @Bean
+    public CloseableHttpClient githubHttpClient(PoolingHttpClientConnectionManager githubConnectionManager) {
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(githubConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout));
+        if (!compression) {
+            builder.disableContentCompression();
+        }
+        return builder.build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory githubRequestFactory(CloseableHttpClient githubHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(githubHttpClient);
+    }
+
+    /**
+     * Publishes pool statistics (leased, pending, available and max connections) under
+     * {@code httpcomponents.httpclient.pool.*} with the tag {@code httpclient=github}.
+     */
+    @Bean
+    public MeterBinder githubConnectionPoolMetrics(PoolingHttpClientConnectionManager githubConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(githubConnectionManager, "github");
+    }
+}
@@ -0,0 +1,64 @@
+package com.redcare.githubscoring.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import java.time.Duration;
+
+/**
+ * Non-blocking HTTP client used for GitHub API calls when {@code github.reactive.enabled} is set.
+ * It honors the same {@code github.http.*} pool, timeout and compression settings as the blocking client.
+ */
+@Configuration
+@ConditionalOnProperty(name = "github.reactive.enabled", havingValue = "true")
+public class ReactiveClientConfig {
+
+    @Value("${github.api.base-url:https://api.github.com}")
+    private String baseUrl;
+
+    @Value("${github.http.max-total:50}")
+    private int maxTotal;
+
+    @Value("${github.http.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${github.http.read-timeout:30s}")
+    private Duration readTimeout;
+
+    @Value("${github.http.connection-request-timeout:5s}")
+    private Duration connectionRequestTimeout;
+
+    @Value("${github.http.idle-timeout:60s}")
+    private Duration idleTimeout;
+
+    @Value("${github.http.compression:true}")
+    private boolean compression;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider githubConnectionProvider() {
+        return ConnectionProvider.builder("github")
+                .maxConnections(maxTotal)
+                .pendingAcquireTimeout(connectionRequestTimeout)
+                .maxIdleTime(idleTimeout)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient githubWebClient(WebClient.Builder builder, ConnectionProvider githubConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(githubConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout)
+                .compress(compression);
+        return builder
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
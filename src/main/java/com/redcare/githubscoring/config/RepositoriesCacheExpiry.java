@@ -0,0 +1,106 @@
+package com.redcare.githubscoring.config;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.redcare.githubscoring.model.RepositoryQuery;
+import java.lang.ref.WeakReference;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-key hard TTL of the {@code repositories} cache. Queries whose creation window starts more than
+ * {@code historicalAfter} ago are dominated by old repositories whose ranking barely moves, so they are kept for
+ * {@code historicalTtl}; more recent, volatile windows expire after {@code recentTtl}.
+ * The TTL restarts whenever an entry is loaded again, and is not extended by reads. An entry restored from an earlier
+ * copy can instead carry over the expiry of that copy, for as long as it holds the restored value.
+ */
+public class RepositoriesCacheExpiry implements Expiry<Object, Object> {
+
+    private final Duration recentTtl;
+
+    private final Duration historicalTtl;
+
+    private final Duration historicalAfter;
+
+    private final Clock clock;
+
+    /**
+     * Expiries carried over from earlier copies of entries, by key. A value is held weakly, so that an evicted
+     * entry's value is not kept alive by this map.
+     */
+    private final Map<Object, CarriedOver> carriedOver = new ConcurrentHashMap<>();
+
+    public RepositoriesCacheExpiry(Duration recentTtl, Duration historicalTtl, Duration historicalAfter, Clock clock) {
+        this.recentTtl = recentTtl;
+        this.historicalTtl = historicalTtl;
+        this.historicalAfter = historicalAfter;
+        this.clock = clock;
+    }
+
+    /**
+     * @return The TTL of the given cache key; keys other than {@link RepositoryQuery queries} are treated as recent
+     */
+    public Duration ttl(Object key) {
+        if (key instanceof RepositoryQuery query
+                && query.createdAfter().isBefore(LocalDate.now(clock).minusDays(historicalAfter.toDays()))) {
+            return historicalTtl;
+        }
+        return recentTtl;
+    }
+
+    /**
+     * Makes the entry of the key expire at the given instant rather than a full TTL after it is loaded, for as long
+     * as it holds the given value, which is compared by identity.
+     */
+    public void carryOver(Object key, Object value, Instant expiresAt) {
+        carriedOver.put(key, new CarriedOver(new WeakReference<>(value), expiresAt));
+    }
+
+    /**
+     * Gives the entry of the key a full TTL again when it is next loaded or refreshed, even if that keeps its value.
+     */
+    public void restart(Object key) {
+        carriedOver.remove(key);
+    }
+
+    /**
+     * @return The longest TTL any entry can have
+     */
+    public Duration maximumTtl() {
+        return recentTtl.compareTo(historicalTtl) >= 0 ? recentTtl : historicalTtl;
+    }
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        return expiry(key, value);
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        return expiry(key, value);
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+
+    private long expiry(Object key, Object value) {
+        CarriedOver carried = carriedOver.get(key);
+        if (carried == null) {
+            return ttl(key).toNanos();
+        }
+        if (carried.value().get() != value) {
+            carriedOver.remove(key, carried);
+            return ttl(key).toNanos();
+        }
+        Duration remaining = Duration.between(clock.instant(), carried.expiresAt());
+        return remaining.isNegative() ? 0 : Math.min(remaining.toNanos(), ttl(key).toNanos());
+    }
+
+    private record CarriedOver(WeakReference<Object> value, Instant expiresAt) {
+    }
+}
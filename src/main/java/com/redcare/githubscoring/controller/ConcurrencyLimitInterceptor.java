@@ -0,0 +1,54 @@
+package com.redcare.githubscoring.controller;
+
+import com.redcare.githubscoring.service.AdaptiveConcurrencyLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Admits scoring requests through the request {@link AdaptiveConcurrencyLimiter}, so that requests are rejected
+ * with 503 instead of piling up on blocked threads while scoring is slow. The permit is released once the response
+ * is complete; a streamed response releases it as soon as streaming starts, without adapting the limit, as its work
+ * runs on the bounded streaming executor. Server errors do not lower the limit by themselves: only latency does.
+ * Responses answered with 503 do not adapt the limit either, since they fail fast while the service or GitHub is
+ * saturated and would otherwise raise it.
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(PERMIT, limiter.acquire());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        if (request.getAttribute(PERMIT) instanceof AdaptiveConcurrencyLimiter.Permit permit) {
+            request.removeAttribute(PERMIT);
+            permit.releaseIgnored();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(PERMIT) instanceof AdaptiveConcurrencyLimiter.Permit permit) {
+            request.removeAttribute(PERMIT);
+            if (response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                permit.releaseIgnored();
+            } else {
+                permit.release();
+            }
+        }
+    }
+}
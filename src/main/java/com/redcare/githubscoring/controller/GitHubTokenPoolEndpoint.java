@@ -0,0 +1,45 @@
+package com.redcare.githubscoring.controller;
+
+import com.redcare.githubscoring.dto.GitHubTokenStatus;
+import com.redcare.githubscoring.service.GitHubRateLimiter;
+import com.redcare.githubscoring.service.GitHubTokenPool;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Actuator endpoint {@code /actuator/githubtokens} reporting the remaining quota and quarantine of every
+ * GitHub token of the pool.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "githubtokens")
+public class GitHubTokenPoolEndpoint {
+
+    private final GitHubTokenPool tokenPool;
+
+    @ReadOperation
+    public List<GitHubTokenStatus> tokens() {
+        return tokenPool.tokens().stream()
+                .map(GitHubTokenPoolEndpoint::status)
+                .toList();
+    }
+
+    private static GitHubTokenStatus status(GitHubTokenPool.PooledToken token) {
+        GitHubRateLimiter rateLimiter = token.rateLimiter();
+        int remaining = rateLimiter.remaining();
+        Instant quarantinedUntil = rateLimiter.pausedUntil();
+        return GitHubTokenStatus.builder()
+                .name(token.name())
+                .authenticated(token.isAuthenticated())
+                .remaining(remaining >= 0 ? remaining : null)
+                .resetAt(rateLimiter.resetAt())
+                .quarantined(quarantinedUntil != null)
+                .quarantinedUntil(quarantinedUntil)
+                .requests(token.requests())
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.redcare.githubscoring.controller;
+
+import com.redcare.githubscoring.dto.RepositoryScoreResponse;
+import com.redcare.githubscoring.dto.RepositorySearchRequest;
+import com.redcare.githubscoring.service.ReactiveRepositoryScoringService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "github.reactive.enabled", havingValue = "true")
+public class ReactiveScoringController {
+
+    private final ReactiveRepositoryScoringService scoringService;
+
+    @Operation(
+            summary = "Scores GitHub repositories without holding a request thread during the GitHub round trip.",
+            description = "Same request, response and errors as POST /score. " +
+                            "Only available when github.reactive.enabled is set."
+    )
+    @PostMapping("/reactive/score")
+    public Mono<ResponseEntity<List<RepositoryScoreResponse>>> scoreRepositories(
+            @Valid @RequestBody RepositorySearchRequest request) {
+        return scoringService.scoreRepositories(
+            request.getLanguage(),
+            request.getCreatedAfter().atStartOfDay(),
+            request.getOffset() != null ? request.getOffset() : 0,
+            request.getLimit()
+        ).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,43 @@
+package com.redcare.githubscoring.controller;
+
+import com.redcare.githubscoring.dto.RepositoryIndexStatus;
+import com.redcare.githubscoring.model.LanguageIndex;
+import com.redcare.githubscoring.service.RepositoryIndexService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import java.util.List;
+
+/**
+ * Actuator endpoint {@code /actuator/repositoryindex} reporting the size and freshness of the in-memory
+ * repository index of every indexed language.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "repositoryindex")
+public class RepositoryIndexEndpoint {
+
+    private final RepositoryIndexService repositoryIndex;
+
+    @ReadOperation
+    public List<RepositoryIndexStatus> indexes() {
+        return repositoryIndex.languages().stream()
+                .map(language -> status(language, repositoryIndex.indexes().get(language)))
+                .toList();
+    }
+
+    private RepositoryIndexStatus status(String language, LanguageIndex index) {
+        if (index == null) {
+            return RepositoryIndexStatus.builder().language(language).build();
+        }
+        return RepositoryIndexStatus.builder()
+                .language(language)
+                .size(index.size())
+                .coversFrom(index.coversFrom())
+                .refreshedAt(index.refreshedAt())
+                .ageSeconds(repositoryIndex.age(index).toSeconds())
+                .fresh(repositoryIndex.isFresh(index))
+                .build();
+    }
+}
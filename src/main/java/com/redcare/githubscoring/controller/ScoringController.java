@@ -1,35 +1,198 @@
 package com.redcare.githubscoring.controller;
 
+import com.redcare.githubscoring.dto.BatchScoreRequest;
+import com.redcare.githubscoring.dto.BatchScoreResult;
 import com.redcare.githubscoring.dto.RepositoryScoreResponse;
 import com.redcare.githubscoring.dto.RepositorySearchRequest;
+import com.redcare.githubscoring.dto.ScoreStreamEvent;
+import com.redcare.githubscoring.exception.ScoringError;
+import com.redcare.githubscoring.exception.ServiceOverloadedException;
+import com.redcare.githubscoring.service.BatchScoringService;
 import com.redcare.githubscoring.service.RepositoryScoringService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+@Slf4j
 @RestController
 @RequiredArgsConstructor
 public class ScoringController {
 
     private final RepositoryScoringService scoringService;
 
+    private final BatchScoringService batchScoringService;
+
+    @Qualifier("streamingExecutor")
+    private final Executor streamingExecutor;
+
+    @Value("${scoring.stream.timeout:5m}")
+    private Duration streamTimeout;
+
+    @Value("${scoring.stream.retry-after:1s}")
+    private Duration streamRetryAfter;
+
     @Operation(
             summary = "Scores GitHub repositories based on the provided search criteria.",
             description = "The scoring takes into account stars, forks, and recency of updates." +
-                            "Results are sorted by score in descending order."
+                            "Results are sorted by score in descending order. " +
+                            "Use offset and limit to return a single page of the ranking."
     )
     @PostMapping("/score")
     public ResponseEntity<List<RepositoryScoreResponse>> scoreRepositories(
             @Valid @RequestBody RepositorySearchRequest request) {
         List<RepositoryScoreResponse> scores = scoringService.scoreRepositories(
             request.getLanguage(),
-            request.getCreatedAfter().atStartOfDay()
+            request.getCreatedAfter().atStartOfDay(),
+            request.getOffset() != null ? request.getOffset() : 0,
+            request.getLimit()
         );
         return ResponseEntity.ok(scores);
     }
-} 
\ No newline at end of file
+
+    @Operation(
+            summary = "Scores several GitHub repository searches in one request.",
+            description = "Queries are scored in parallel and identical queries are only scored once. " +
+                            "Each result carries the status of its own query, so a failing query does not fail the batch."
+    )
+    @PostMapping("/score/batch")
+    public ResponseEntity<List<BatchScoreResult>> scoreBatch(@Valid @RequestBody BatchScoreRequest request) {
+        return ResponseEntity.ok(batchScoringService.scoreAll(request.getQueries()));
+    }
+
+    @Operation(
+            summary = "Streams the scores of GitHub repositories as newline-delimited JSON.",
+            description = "Each repository is sent as soon as its page arrives from GitHub, with a provisional score " +
+                            "normalized by the largest stars and forks counts seen so far. " +
+                            "The last line is a summary event carrying the final ranking, honoring offset and limit."
+    )
+    @PostMapping(value = "/score", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseBodyEmitter streamScores(@Valid @RequestBody RepositorySearchRequest request) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(streamTimeout.toMillis());
+        stream(request, emitter, event -> {
+            emitter.send(event, MediaType.APPLICATION_JSON);
+            emitter.send("\n", MediaType.TEXT_PLAIN);
+        });
+        return emitter;
+    }
+
+    @Operation(
+            summary = "Streams the scores of GitHub repositories as server-sent events.",
+            description = "Sends the same events as the newline-delimited JSON stream, named after their type."
+    )
+    @PostMapping(value = "/score", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamScoreEvents(@Valid @RequestBody RepositorySearchRequest request) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        stream(request, emitter, event -> emitter.send(SseEmitter.event()
+                .name(event.getEvent())
+                .data(event, MediaType.APPLICATION_JSON)));
+        return emitter;
+    }
+
+    /**
+     * Scores the request on the bounded streaming executor, sending every event as it is produced. A request is
+     * rejected with 503 while that executor is saturated. A stream ends after the stream timeout, and production
+     * stops once the emitter times out, fails or completes, since nothing can be sent on it anymore.
+     * Failures are reported as a final error event, as the response status has already been sent.
+     */
+    private void stream(RepositorySearchRequest request, ResponseBodyEmitter emitter, EventSender sender) {
+        AtomicBoolean closed = new AtomicBoolean();
+        emitter.onTimeout(() -> {
+            closed.set(true);
+            emitter.complete();
+        });
+        emitter.onError(e -> closed.set(true));
+        emitter.onCompletion(() -> closed.set(true));
+        EventSender open = event -> {
+            if (closed.get()) {
+                throw new StreamClosedException();
+            }
+            sender.send(event);
+        };
+        try {
+            streamingExecutor.execute(() -> produce(request, emitter, open, closed));
+        } catch (TaskRejectedException e) {
+            throw new ServiceOverloadedException("Too many concurrent score streams, try again later",
+                    streamRetryAfter);
+        }
+    }
+
+    private void produce(RepositorySearchRequest request, ResponseBodyEmitter emitter, EventSender sender,
+                         AtomicBoolean closed) {
+        try {
+            List<RepositoryScoreResponse> ranking = scoringService.streamRepositories(
+                request.getLanguage(),
+                request.getCreatedAfter().atStartOfDay(),
+                request.getOffset() != null ? request.getOffset() : 0,
+                request.getLimit(),
+                repository -> send(sender, ScoreStreamEvent.builder()
+                        .event(ScoreStreamEvent.REPOSITORY)
+                        .repository(repository)
+                        .build()));
+            sender.send(ScoreStreamEvent.builder().event(ScoreStreamEvent.SUMMARY).ranking(ranking).build());
+            emitter.complete();
+        } catch (UncheckedIOException | IOException e) {
+            log.debug("Client went away while streaming scores", e);
+            emitter.completeWithError(e);
+        } catch (RuntimeException e) {
+            if (closed.get()) {
+                log.debug("Stopped streaming scores after the response was closed", e);
+                return;
+            }
+            ScoringError error = ScoringError.of(e);
+            try {
+                sender.send(ScoreStreamEvent.builder()
+                        .event(ScoreStreamEvent.ERROR)
+                        .status(error.status())
+                        .error(error.error())
+                        .message(error.message())
+                        .build());
+                emitter.complete();
+            } catch (StreamClosedException | IllegalStateException sendFailure) {
+                // Closed by a timeout or the container while the error was being reported.
+                log.debug("Dropped error event of a closed score stream", e);
+            } catch (IOException sendFailure) {
+                emitter.completeWithError(sendFailure);
+            }
+        }
+    }
+
+    private static void send(EventSender sender, ScoreStreamEvent event) {
+        try {
+            sender.send(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Thrown to stop producing a stream whose response has been closed.
+     */
+    private static final class StreamClosedException extends RuntimeException {
+
+        private StreamClosedException() {
+            super("Score stream closed", null, false, false);
+        }
+    }
+
+    @FunctionalInterface
+    private interface EventSender {
+        void send(ScoreStreamEvent event) throws IOException;
+    }
+}
@@ -0,0 +1,18 @@
+package com.redcare.githubscoring.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchScoreRequest {
+    @NotEmpty(message = "At least one query is required")
+    @Size(max = 50, message = "A batch must not contain more than 50 queries")
+    private List<@Valid RepositorySearchRequest> queries;
+}
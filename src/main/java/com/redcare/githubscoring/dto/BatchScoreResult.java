@@ -0,0 +1,24 @@
+package com.redcare.githubscoring.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Outcome of a single query of a batch: either the scored repositories or the error that query failed with.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchScoreResult {
+    private RepositorySearchRequest query;
+    private int status;
+    private List<RepositoryScoreResponse> repositories;
+    private String error;
+    private String message;
+}
@@ -0,0 +1,27 @@
+package com.redcare.githubscoring.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+
+/**
+ * Rate limit state of one GitHub token of the pool. The token itself is never reported, only its name.
+ * {@code remaining} and {@code resetAt} are left out until GitHub answered a request sent with the token.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GitHubTokenStatus {
+    private String name;
+    private boolean authenticated;
+    private Integer remaining;
+    private Instant resetAt;
+    private boolean quarantined;
+    private Instant quarantinedUntil;
+    private long requests;
+}
@@ -0,0 +1,27 @@
+package com.redcare.githubscoring.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Size and freshness of the in-memory repository index of one language.
+ * Only {@code language} and {@code fresh} are set while the index has not been built yet.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RepositoryIndexStatus {
+    private String language;
+    private Integer size;
+    private LocalDate coversFrom;
+    private Instant refreshedAt;
+    private Long ageSeconds;
+    private boolean fresh;
+}
@@ -1,5 +1,7 @@
 package com.redcare.githubscoring.dto;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -18,4 +20,15 @@ public class RepositorySearchRequest {
     @NotNull(message = "Created date is required")
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
     private LocalDate createdAfter;
-} 
\ No newline at end of file
+
+    @Min(value = 0, message = "Offset must not be negative")
+    private Integer offset;
+
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 1000, message = "Limit must not exceed 1000")
+    private Integer limit;
+
+    public RepositorySearchRequest(String language, LocalDate createdAfter) {
+        this(language, createdAfter, null, null);
+    }
+}
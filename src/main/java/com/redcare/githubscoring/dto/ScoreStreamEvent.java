@@ -0,0 +1,31 @@
+package com.redcare.githubscoring.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * One event of a streamed scoring response.
+ * {@code repository} events carry a provisional score, normalized by the largest stars and forks counts seen so far;
+ * the closing {@code summary} event carries the final ranking, and an {@code error} event ends a failed stream.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ScoreStreamEvent {
+    public static final String REPOSITORY = "repository";
+    public static final String SUMMARY = "summary";
+    public static final String ERROR = "error";
+
+    private String event;
+    private RepositoryScoreResponse repository;
+    private List<RepositoryScoreResponse> ranking;
+    private Integer status;
+    private String error;
+    private String message;
+}
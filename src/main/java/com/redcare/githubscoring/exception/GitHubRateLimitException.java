@@ -0,0 +1,26 @@
+package com.redcare.githubscoring.exception;
+
+import org.springframework.web.client.RestClientException;
+import java.time.Duration;
+
+/**
+ * Thrown when a GitHub request cannot be sent within the configured maximum wait because the
+ * search rate limit is exhausted. Being a {@link RestClientException}, it is otherwise handled like
+ * any other GitHub API failure.
+ */
+public class GitHubRateLimitException extends RestClientException {
+
+    private final Duration retryAfter;
+
+    public GitHubRateLimitException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return How long to wait before GitHub is expected to accept requests again
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
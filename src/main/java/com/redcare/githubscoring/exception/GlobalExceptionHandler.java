@@ -2,13 +2,13 @@ package com.redcare.githubscoring.exception;
 
 import jakarta.servlet.ServletException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
-import org.springframework.web.client.RestClientException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -19,21 +19,6 @@ import java.util.stream.Collectors;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
-    @ExceptionHandler(RepositoryScoringException.class)
-    public ResponseEntity<Map<String, Object>> handleRepositoryScoringException(RepositoryScoringException ex) {
-
-        log.error("Internal error", ex);
-
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        body.put("error", "Repository Scoring Error");
-        body.put("message", ex.getMessage());
-
-        return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
-    }
-
-
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
 
@@ -59,29 +44,27 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
 
-    @ExceptionHandler(RestClientException.class)
-    public ResponseEntity<Map<String, Object>> handleRestClientException(RestClientException ex) {
-        log.error("Github API Exception", ex);
-
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
-        body.put("error", "GitHub API Error");
-        body.put("message", "Unable to fetch data from GitHub API: " + ex.getMessage());
-        return new ResponseEntity<>(body, HttpStatus.SERVICE_UNAVAILABLE);
-    }
-
+    /**
+     * Answers every other failure as described by {@link ScoringError}, with a {@code Retry-After} header when
+     * retrying later helps.
+     */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleUnknownException(Exception ex) throws Exception {
+    public ResponseEntity<Map<String, Object>> handleException(Exception ex) throws Exception {
         if (ex instanceof ServletException) {
             throw ex; //let spring-web handle it
         }
-        log.error("Unknown Exception", ex);
+        ScoringError error = ScoringError.of(ex);
+
         Map<String, Object> body = new HashMap<>();
         body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        body.put("error", "Internal Server Error");
-        body.put("message", "An unexpected error occurred");
-        return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+        body.put("status", error.status());
+        body.put("error", error.error());
+        body.put("message", error.message());
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(error.status());
+        if (error.retryAfter() != null) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(error.retryAfter().toSeconds()));
+        }
+        return response.body(body);
     }
 }
@@ -0,0 +1,48 @@
+package com.redcare.githubscoring.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.RestClientException;
+import java.time.Duration;
+
+/**
+ * Status, error and message describing a failure. This is the one mapping of exceptions to error responses:
+ * {@link GlobalExceptionHandler} sends it as the response, and responses that report errors in their body rather
+ * than through the response status, such as batch results and streamed events, embed it.
+ *
+ * @param retryAfter How long clients should wait before retrying, or {@code null} if retrying will not help
+ */
+@Slf4j
+public record ScoringError(int status, String error, String message, Duration retryAfter) {
+
+    private static final Duration MIN_RETRY_AFTER = Duration.ofSeconds(1);
+
+    public static ScoringError of(Throwable ex) {
+        if (ex instanceof GitHubRateLimitException rateLimited) {
+            log.warn("Github rate limit exhausted", ex);
+            return new ScoringError(HttpStatus.SERVICE_UNAVAILABLE.value(), "GitHub Rate Limit Exceeded",
+                    ex.getMessage(), rateLimited.getRetryAfter().plusSeconds(1));
+        }
+        if (ex instanceof ServiceOverloadedException overloaded) {
+            log.warn("Shedding load: {}", ex.getMessage());
+            Duration retryAfter = overloaded.getRetryAfter().compareTo(MIN_RETRY_AFTER) < 0
+                    ? MIN_RETRY_AFTER
+                    : overloaded.getRetryAfter();
+            return new ScoringError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Overloaded", ex.getMessage(),
+                    retryAfter);
+        }
+        if (ex instanceof RestClientException) {
+            log.error("Github API Exception", ex);
+            return new ScoringError(HttpStatus.SERVICE_UNAVAILABLE.value(), "GitHub API Error",
+                    "Unable to fetch data from GitHub API: " + ex.getMessage(), null);
+        }
+        if (ex instanceof RepositoryScoringException) {
+            log.error("Internal error", ex);
+            return new ScoringError(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Repository Scoring Error",
+                    ex.getMessage(), null);
+        }
+        log.error("Unknown Exception", ex);
+        return new ScoringError(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Internal Server Error",
+                "An unexpected error occurred", null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.redcare.githubscoring.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when work is shed because an adaptive concurrency limit is reached, either for incoming scoring requests
+ * or for upstream GitHub fetches. It is answered with 503 and a {@code Retry-After} header.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return How long to wait before retrying
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,24 @@
+package com.redcare.githubscoring.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * A single page of a GitHub repository search response.
+ * {@code notModified} is set when GitHub confirmed with a 304 that a previously fetched page is unchanged.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GitHubSearchPage {
+    private int totalCount;
+    private boolean incompleteResults;
+    private List<GitHubRepository> items;
+    private boolean notModified;
+
+    public GitHubSearchPage(int totalCount, boolean incompleteResults, List<GitHubRepository> items) {
+        this(totalCount, incompleteResults, items, false);
+    }
+}
@@ -0,0 +1,107 @@
+package com.redcare.githubscoring.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable in-memory index of the repositories of one language created after {@code coversFrom},
+ * sorted by creation date so that the repositories created after any later date form a suffix of it.
+ * The suffix for a date is found by binary search on the primitive creation-day column.
+ */
+public final class LanguageIndex {
+
+    private final String language;
+
+    private final LocalDate coversFrom;
+
+    private final Instant refreshedAt;
+
+    private final List<GitHubRepository> repositories;
+
+    private final RepositoryColumns columns;
+
+    /**
+     * Suffix views handed out so far, by start position. Returning the same list instance for the same suffix
+     * lets scores computed for it be reused from the scores cache.
+     */
+    private final Map<Integer, List<GitHubRepository>> suffixes = new ConcurrentHashMap<>();
+
+    private LanguageIndex(String language, LocalDate coversFrom, Instant refreshedAt,
+                          List<GitHubRepository> repositories) {
+        this.language = language;
+        this.coversFrom = coversFrom;
+        this.refreshedAt = refreshedAt;
+        this.repositories = repositories;
+        this.columns = RepositoryColumns.of(repositories);
+    }
+
+    /**
+     * Builds the index of the given repositories, all of which must have a creation date.
+     *
+     * @param language The language of the repositories
+     * @param coversFrom The creation date all indexed repositories were created after
+     * @param refreshedAt When the repositories were fetched
+     * @param repositories The repositories, in any order
+     */
+    public static LanguageIndex of(String language, LocalDate coversFrom, Instant refreshedAt,
+                                   List<GitHubRepository> repositories) {
+        List<GitHubRepository> sorted = new ArrayList<>(repositories);
+        sorted.sort(Comparator.comparing(GitHubRepository::getCreatedAt));
+        return new LanguageIndex(language, coversFrom, refreshedAt, Collections.unmodifiableList(sorted));
+    }
+
+    public String language() {
+        return language;
+    }
+
+    public LocalDate coversFrom() {
+        return coversFrom;
+    }
+
+    public Instant refreshedAt() {
+        return refreshedAt;
+    }
+
+    public int size() {
+        return columns.size();
+    }
+
+    /**
+     * @return Whether the index holds every indexed repository created after the given date
+     */
+    public boolean covers(LocalDate createdAfter) {
+        return !createdAfter.isBefore(coversFrom);
+    }
+
+    /**
+     * Returns the indexed repositories created after the given date, oldest first.
+     * Repeated calls for dates selecting the same repositories return the same list instance.
+     *
+     * @param createdAfter Only repositories created after this date are returned; must be {@link #covers covered}
+     * @return An unmodifiable view of the matching repositories
+     */
+    public List<GitHubRepository> createdAfter(LocalDate createdAfter) {
+        int from = firstCreatedAfter(createdAfter.toEpochDay());
+        return suffixes.computeIfAbsent(from, start -> repositories.subList(start, repositories.size()));
+    }
+
+    private int firstCreatedAfter(long epochDay) {
+        int low = 0;
+        int high = columns.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (columns.createdEpochDay(mid) > epochDay) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}
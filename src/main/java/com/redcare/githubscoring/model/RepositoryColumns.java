@@ -0,0 +1,92 @@
+package com.redcare.githubscoring.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Column-oriented, primitive view of the scoring inputs of a repository result set.
+ * Index {@code i} of every column describes the {@code i}-th repository of the source list.
+ * Missing counts are read as zero.
+ */
+public final class RepositoryColumns {
+
+    private final int size;
+    private final int[] stars;
+    private final int[] forks;
+    private final long[] createdEpochDays;
+    private final long[] updatedEpochDays;
+
+    private RepositoryColumns(int size, int[] stars, int[] forks, long[] createdEpochDays, long[] updatedEpochDays) {
+        this.size = size;
+        this.stars = stars;
+        this.forks = forks;
+        this.createdEpochDays = createdEpochDays;
+        this.updatedEpochDays = updatedEpochDays;
+    }
+
+    public static RepositoryColumns of(List<GitHubRepository> repositories) {
+        int size = repositories.size();
+        int[] stars = new int[size];
+        int[] forks = new int[size];
+        long[] created = new long[size];
+        long[] updated = new long[size];
+        for (int i = 0; i < size; i++) {
+            GitHubRepository repo = repositories.get(i);
+            stars[i] = orZero(repo.getStargazersCount());
+            forks[i] = orZero(repo.getForksCount());
+            created[i] = epochDay(repo.getCreatedAt());
+            updated[i] = epochDay(repo.getUpdatedAt());
+        }
+        return new RepositoryColumns(size, stars, forks, created, updated);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int stars(int index) {
+        return stars[index];
+    }
+
+    public int forks(int index) {
+        return forks[index];
+    }
+
+    public long createdEpochDay(int index) {
+        return createdEpochDays[index];
+    }
+
+    public long updatedEpochDay(int index) {
+        return updatedEpochDays[index];
+    }
+
+    /**
+     * @return The largest stars count of the set, at least 1 so that it can be used as a normalizer
+     */
+    public int maxStars() {
+        return max(stars);
+    }
+
+    /**
+     * @return The largest forks count of the set, at least 1 so that it can be used as a normalizer
+     */
+    public int maxForks() {
+        return max(forks);
+    }
+
+    private int max(int[] column) {
+        int max = 1;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, column[i]);
+        }
+        return max;
+    }
+
+    private static int orZero(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static long epochDay(LocalDateTime dateTime) {
+        return dateTime.toLocalDate().toEpochDay();
+    }
+}
@@ -0,0 +1,15 @@
+package com.redcare.githubscoring.model;
+
+import java.time.LocalDate;
+
+/**
+ * A repository search: all repositories of a language created after a given date.
+ * Used as the key of the {@code repositories} cache.
+ */
+public record RepositoryQuery(String language, LocalDate createdAfter) {
+
+    @Override
+    public String toString() {
+        return language + "-" + createdAfter;
+    }
+}
@@ -0,0 +1,7 @@
+package com.redcare.githubscoring.model;
+
+/**
+ * The weights applied to the star, fork and recency components of a repository score.
+ */
+public record ScoringWeights(double stars, double forks, double recency) {
+}
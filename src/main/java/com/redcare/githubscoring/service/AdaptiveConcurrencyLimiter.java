@@ -0,0 +1,168 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounds the number of concurrent calls with a limit adapted to their latency (AIMD). A call finishing within the
+ * latency threshold while at least half of the limit was in use raises the limit by one; a call slower than the
+ * threshold, or dropped because the work behind it is overloaded, lowers it by the backoff ratio. The limit stays
+ * between its minimum and maximum. Calls beyond the limit are rejected straight away rather than queued, so that
+ * callers are not held up while the work behind the limiter is slow.
+ */
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+    static final double BACKOFF_RATIO = 0.9;
+
+    private final String name;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long latencyThresholdNanos;
+
+    private final Duration retryAfter;
+
+    private final LongSupplier nanoTime;
+
+    private double limit;
+
+    private int inFlight;
+
+    private long rejected;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      Duration latencyThreshold, Duration retryAfter) {
+        this(name, initialLimit, minLimit, maxLimit, latencyThreshold, retryAfter, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold,
+                               Duration retryAfter, LongSupplier nanoTime) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Concurrency limits of " + name + " must satisfy 1 <= min <= max");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.retryAfter = retryAfter;
+        this.nanoTime = nanoTime;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Takes a permit for a call, which must be released exactly once when the call completes.
+     *
+     * @return The permit of the call
+     * @throws ServiceOverloadedException If the limit is reached
+     */
+    public synchronized Permit acquire() {
+        if (inFlight >= (int) limit) {
+            rejected++;
+            throw new ServiceOverloadedException("Too many concurrent " + name + ", try again later", retryAfter);
+        }
+        inFlight++;
+        return new Permit(nanoTime.getAsLong());
+    }
+
+    /**
+     * @return The current concurrency limit
+     */
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    /**
+     * @return The number of calls holding a permit
+     */
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    /**
+     * @return The number of calls rejected since startup
+     */
+    public synchronized long rejected() {
+        return rejected;
+    }
+
+    private synchronized void release(long latencyNanos, Outcome outcome) {
+        int used = inFlight;
+        inFlight--;
+        if (outcome == Outcome.DROPPED || (outcome == Outcome.SUCCESS && latencyNanos > latencyThresholdNanos)) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+        } else if (outcome == Outcome.SUCCESS && used * 2 >= (int) limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    /**
+     * Publishes the limit, the calls in flight and the rejected calls, tagged with the limiter name.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("concurrency.limit", this, AdaptiveConcurrencyLimiter::limit)
+                .tag("limiter", name)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("concurrency.in-flight", this, AdaptiveConcurrencyLimiter::inFlight)
+                .tag("limiter", name)
+                .description("Calls currently holding a permit")
+                .register(registry);
+        FunctionCounter.builder("concurrency.rejected", this, AdaptiveConcurrencyLimiter::rejected)
+                .tag("limiter", name)
+                .description("Calls rejected because the concurrency limit was reached")
+                .register(registry);
+    }
+
+    private enum Outcome { SUCCESS, DROPPED, IGNORED }
+
+    /**
+     * The permit of one call. Releasing it again has no effect.
+     */
+    public final class Permit {
+
+        private final long startNanos;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Releases the permit of a call that completed, adapting the limit to its latency.
+         */
+        public void release() {
+            release(Outcome.SUCCESS);
+        }
+
+        /**
+         * Releases the permit of a call that failed because the work behind the limiter is overloaded, such as a
+         * timeout, lowering the limit.
+         */
+        public void releaseDropped() {
+            release(Outcome.DROPPED);
+        }
+
+        /**
+         * Releases the permit of a call that tells nothing about the load, leaving the limit as it is.
+         */
+        public void releaseIgnored() {
+            release(Outcome.IGNORED);
+        }
+
+        private void release(Outcome outcome) {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimiter.this.release(nanoTime.getAsLong() - startNanos, outcome);
+            }
+        }
+    }
+}
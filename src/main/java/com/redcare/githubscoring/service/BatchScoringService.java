@@ -0,0 +1,75 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.dto.BatchScoreResult;
+import com.redcare.githubscoring.dto.RepositoryScoreResponse;
+import com.redcare.githubscoring.dto.RepositorySearchRequest;
+import com.redcare.githubscoring.exception.ScoringError;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchScoringService {
+
+    private final RepositoryScoringService scoringService;
+
+    @Qualifier("scoringExecutor")
+    private final Executor scoringExecutor;
+
+    /**
+     * Scores several searches in parallel on the bounded scoring executor.
+     * Identical queries are only scored once; a query that fails yields an error result
+     * carrying the status the single-query endpoint would have answered with, without failing the rest of the batch.
+     *
+     * @param queries The searches to score
+     * @return One result per query, in the order the queries were given
+     */
+    public List<BatchScoreResult> scoreAll(List<RepositorySearchRequest> queries) {
+        Map<RepositorySearchRequest, CompletableFuture<BatchScoreResult>> distinct = new LinkedHashMap<>();
+        for (RepositorySearchRequest query : queries) {
+            distinct.computeIfAbsent(query, this::score);
+        }
+        CompletableFuture.allOf(distinct.values().toArray(CompletableFuture[]::new)).join();
+        return queries.stream().map(query -> distinct.get(query).join()).toList();
+    }
+
+    private CompletableFuture<BatchScoreResult> score(RepositorySearchRequest query) {
+        return CompletableFuture.supplyAsync(() -> scoringService.scoreRepositories(
+                        query.getLanguage(),
+                        query.getCreatedAfter().atStartOfDay(),
+                        query.getOffset() != null ? query.getOffset() : 0,
+                        query.getLimit()), scoringExecutor)
+                .handle((repositories, failure) -> failure == null
+                        ? success(query, repositories)
+                        : failure(query, failure instanceof CompletionException ? failure.getCause() : failure));
+    }
+
+    private static BatchScoreResult success(RepositorySearchRequest query, List<RepositoryScoreResponse> repositories) {
+        return BatchScoreResult.builder()
+                .query(query)
+                .status(HttpStatus.OK.value())
+                .repositories(repositories)
+                .build();
+    }
+
+    private static BatchScoreResult failure(RepositorySearchRequest query, Throwable ex) {
+        log.warn("Batch query {} failed", query);
+        ScoringError error = ScoringError.of(ex);
+        return BatchScoreResult.builder()
+                .query(query)
+                .status(error.status())
+                .error(error.error())
+                .message(error.message())
+                .build();
+    }
+}
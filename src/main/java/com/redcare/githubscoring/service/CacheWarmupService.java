@@ -0,0 +1,103 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.model.RepositoryQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Keeps the {@link HotQueryTracker hot queries} warm, enabled with {@code github.cache.warmup.enabled}, so that
+ * searches for them almost never miss the cache. At startup and then every {@code github.cache.warmup.interval},
+ * the repositories of every hot query that is not cached are loaded, those due for a refresh before the next pass
+ * are refreshed, and their scores of the day are computed. Queries are warmed one at a time. Before each one that
+ * needs GitHub, the pass waits for a turn of the least-loaded token; when that is further out than
+ * {@code github.cache.warmup.max-wait}, the remaining queries are left to the next pass so that searches keep
+ * their share of the rate limit. Queries answered by the in-memory repository index are skipped.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "github.cache.warmup.enabled", havingValue = "true")
+public class CacheWarmupService {
+
+    private final HotQueryTracker hotQueries;
+
+    private final GitHubService gitHubService;
+
+    private final RepositoryScoringService scoringService;
+
+    private final RepositoryIndexService repositoryIndex;
+
+    private final GitHubTokenPool tokenPool;
+
+    private final ScoringMetrics metrics;
+
+    private final Duration interval;
+
+    private final Duration maxWait;
+
+    public CacheWarmupService(HotQueryTracker hotQueries, GitHubService gitHubService,
+                              RepositoryScoringService scoringService, RepositoryIndexService repositoryIndex,
+                              GitHubTokenPool tokenPool, ScoringMetrics metrics,
+                              @Value("${github.cache.warmup.interval:PT1M}") Duration interval,
+                              @Value("${github.cache.warmup.max-wait:5s}") Duration maxWait) {
+        this.hotQueries = hotQueries;
+        this.gitHubService = gitHubService;
+        this.scoringService = scoringService;
+        this.repositoryIndex = repositoryIndex;
+        this.tokenPool = tokenPool;
+        this.metrics = metrics;
+        this.interval = interval;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Warms every hot query, as far as the rate limit allows.
+     * The interval is an ISO-8601 duration such as {@code PT1M}, as required by {@link Scheduled}.
+     */
+    @Scheduled(fixedDelayString = "${github.cache.warmup.interval:PT1M}")
+    public void warm() {
+        List<RepositoryQuery> queries = hotQueries.hotQueries();
+        for (int i = 0; i < queries.size(); i++) {
+            if (!warm(queries.get(i))) {
+                log.debug("Rate limit reached, deferring {} hot queries to the next warmup", queries.size() - i);
+                queries.subList(i, queries.size())
+                        .forEach(query -> metrics.recordWarmup(query.language(), "deferred"));
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return {@code false} if the query needs GitHub but no token has a turn within the maximum wait
+     */
+    boolean warm(RepositoryQuery query) {
+        if (repositoryIndex.find(query.language(), query.createdAfter()).isPresent()) {
+            metrics.recordWarmup(query.language(), "indexed");
+            return true;
+        }
+        // Entries due for a refresh within the interval would turn stale before the next pass.
+        boolean upstream = gitHubService.needsWarming(query, interval);
+        if (upstream) {
+            Duration wait = tokenPool.estimateWait();
+            if (wait.compareTo(maxWait) > 0) {
+                return false;
+            }
+            GitHubRateLimiter.await(wait);
+        }
+        try {
+            List<GitHubRepository> repositories = gitHubService.warmRepositories(query, interval).join();
+            scoringService.warm(query, repositories);
+            metrics.recordWarmup(query.language(), upstream ? "loaded" : "cached");
+        } catch (RuntimeException e) {
+            log.warn("Failed to warm the cache for {} repositories created after {}", query.language(),
+                    query.createdAfter(), e);
+            metrics.recordWarmup(query.language(), "failed");
+        }
+        return true;
+    }
+}
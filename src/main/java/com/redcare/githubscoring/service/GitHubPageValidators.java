@@ -0,0 +1,77 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.model.GitHubSearchPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import java.util.Objects;
+
+/**
+ * Remembers the {@code ETag} and {@code Last-Modified} validators of fetched GitHub search pages, together with
+ * the pages themselves, so that a page can be fetched again with a conditional request. When GitHub answers
+ * {@code 304 Not Modified} the remembered page is reused without downloading or parsing it again.
+ */
+@Component
+@RequiredArgsConstructor
+public class GitHubPageValidators {
+
+    public static final String PAGES_CACHE = "github-pages";
+
+    private final CacheManager cacheManager;
+
+    /**
+     * @return The page last fetched for the given request with its validators, or {@code null} if there is none
+     */
+    public ValidatedPage lookup(String query, int page, int perPage) {
+        return pagesCache().get(key(query, page, perPage), ValidatedPage.class);
+    }
+
+    /**
+     * Remembers a fetched or revalidated page, provided GitHub sent a validator for it.
+     *
+     * @return The given page
+     */
+    public GitHubSearchPage store(String query, int page, int perPage, HttpHeaders responseHeaders,
+                                  GitHubSearchPage fetched) {
+        String etag = responseHeaders.getETag();
+        String lastModified = responseHeaders.getFirst(HttpHeaders.LAST_MODIFIED);
+        if (etag != null || lastModified != null) {
+            pagesCache().put(key(query, page, perPage), new ValidatedPage(etag, lastModified, fetched));
+        }
+        return fetched;
+    }
+
+    private Cache pagesCache() {
+        return Objects.requireNonNull(cacheManager.getCache(PAGES_CACHE));
+    }
+
+    private static String key(String query, int page, int perPage) {
+        return query + "&page=" + page + "&per_page=" + perPage;
+    }
+
+    /**
+     * A fetched page with the validators GitHub sent for it.
+     */
+    public record ValidatedPage(String etag, String lastModified, GitHubSearchPage page) {
+
+        /**
+         * Makes the request conditional on the page having changed since it was fetched.
+         */
+        public void applyTo(HttpHeaders requestHeaders) {
+            if (etag != null) {
+                requestHeaders.setIfNoneMatch(etag);
+            } else {
+                requestHeaders.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+            }
+        }
+
+        /**
+         * @return A copy of the page, marked as confirmed unchanged by GitHub
+         */
+        public GitHubSearchPage notModified() {
+            return new GitHubSearchPage(page.getTotalCount(), page.isIncompleteResults(), page.getItems(), true);
+        }
+    }
+}
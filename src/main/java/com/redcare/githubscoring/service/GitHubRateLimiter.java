@@ -0,0 +1,250 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.exception.GitHubRateLimitException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.RestClientResponseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Pacing of the GitHub search requests sent with one credential of the {@link GitHubTokenPool}.
+ * Requests are spaced by a token bucket of {@code github.rate-limit.requests-per-minute} with bursts of up to
+ * {@code github.rate-limit.burst} requests. The bucket adapts to the quota GitHub reports: the remaining requests
+ * from {@code X-RateLimit-Remaining} are spread evenly until {@code X-RateLimit-Reset}, and no request is sent
+ * after the quota is exhausted or a {@code Retry-After} was received until that time has passed.
+ * Callers queue for their turn; a caller that would have to wait longer than {@code github.rate-limit.max-wait}
+ * fails fast with a {@link GitHubRateLimitException} instead.
+ */
+public class GitHubRateLimiter {
+
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    private final long intervalMillis;
+
+    private final int burst;
+
+    private final Duration maxWait;
+
+    private final int maxRetries;
+
+    private final Duration initialBackoff;
+
+    private final Clock clock;
+
+    /**
+     * Time at which the next request would be sent if no burst were allowed, as in the generic cell rate algorithm.
+     */
+    private long theoreticalArrivalMillis;
+
+    private long pausedUntilMillis;
+
+    private long budgetIntervalMillis;
+
+    private long budgetUntilMillis;
+
+    private long resetAtMillis;
+
+    private int remaining = -1;
+
+    public GitHubRateLimiter(int requestsPerMinute, int burst, Duration maxWait, int maxRetries,
+                             Duration initialBackoff) {
+        this(requestsPerMinute, burst, maxWait, maxRetries, initialBackoff, Clock.systemUTC());
+    }
+
+    GitHubRateLimiter(int requestsPerMinute, int burst, Duration maxWait, int maxRetries, Duration initialBackoff,
+                      Clock clock) {
+        if (requestsPerMinute < 1) {
+            throw new IllegalArgumentException(
+                    "github.rate-limit.requests-per-minute must be at least 1, but was " + requestsPerMinute);
+        }
+        this.intervalMillis = Duration.ofMinutes(1).toMillis() / requestsPerMinute;
+        this.burst = Math.max(1, burst);
+        this.maxWait = maxWait;
+        this.maxRetries = maxRetries;
+        this.initialBackoff = initialBackoff;
+        this.clock = clock;
+    }
+
+    /**
+     * Waits for the turn of the next request on the calling thread.
+     *
+     * @throws GitHubRateLimitException If the turn would come later than the maximum wait
+     */
+    public void acquire() {
+        await(reserve());
+    }
+
+    /**
+     * Sleeps for a reserved wait on the calling thread.
+     *
+     * @throws GitHubRateLimitException If interrupted while waiting
+     */
+    static void await(Duration wait) {
+        if (wait.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GitHubRateLimitException("Interrupted while waiting for the GitHub rate limit", wait);
+        }
+    }
+
+    /**
+     * Reserves the turn of the next request without waiting for it, for callers that wait asynchronously.
+     *
+     * @return How long the caller must wait before sending the request
+     * @throws GitHubRateLimitException If the turn would come later than the maximum wait; nothing is reserved then
+     */
+    public synchronized Duration reserve() {
+        long now = clock.millis();
+        long interval = interval(now);
+        long sendAt = sendAt(now, interval);
+        long wait = sendAt - now;
+        if (wait > maxWait.toMillis()) {
+            throw new GitHubRateLimitException("GitHub search rate limit exhausted", Duration.ofMillis(wait));
+        }
+        theoreticalArrivalMillis = Math.max(theoreticalArrivalMillis, sendAt) + interval;
+        return Duration.ofMillis(wait);
+    }
+
+    /**
+     * @return How long the next request would have to wait for its turn, without reserving it
+     */
+    public synchronized Duration estimateWait() {
+        long now = clock.millis();
+        return Duration.ofMillis(sendAt(now, interval(now)) - now);
+    }
+
+    /**
+     * @return The remaining quota last reported by GitHub, or -1 before the first response
+     */
+    public synchronized int remaining() {
+        return remaining;
+    }
+
+    /**
+     * @return When GitHub last said the quota resets, or {@code null} before the first response reporting it
+     */
+    public synchronized Instant resetAt() {
+        return resetAtMillis > 0 ? Instant.ofEpochMilli(resetAtMillis) : null;
+    }
+
+    /**
+     * @return Until when no request is sent because the quota is exhausted or GitHub asked to retry later,
+     *         or {@code null} if requests are not paused
+     */
+    public synchronized Instant pausedUntil() {
+        return pausedUntilMillis > clock.millis() ? Instant.ofEpochMilli(pausedUntilMillis) : null;
+    }
+
+    private long interval(long now) {
+        return now < budgetUntilMillis ? Math.max(intervalMillis, budgetIntervalMillis) : intervalMillis;
+    }
+
+    private long sendAt(long now, long interval) {
+        int allowedBurst = remaining >= 0 && now < budgetUntilMillis ? Math.max(1, Math.min(burst, remaining)) : burst;
+        long start = Math.max(now, pausedUntilMillis);
+        return Math.max(start, theoreticalArrivalMillis - (allowedBurst - 1) * interval);
+    }
+
+    /**
+     * Adapts the pacing to the quota reported in the headers of a GitHub response.
+     */
+    public synchronized void onResponse(HttpHeaders headers) {
+        if (headers == null) {
+            return;
+        }
+        Long remainingHeader = longHeader(headers, REMAINING_HEADER);
+        Long resetHeader = longHeader(headers, RESET_HEADER);
+        if (remainingHeader == null || resetHeader == null) {
+            return;
+        }
+        long now = clock.millis();
+        long resetAt = Duration.ofSeconds(resetHeader).toMillis();
+        remaining = remainingHeader.intValue();
+        resetAtMillis = resetAt;
+        if (remaining <= 0) {
+            pausedUntilMillis = Math.max(pausedUntilMillis, resetAt);
+        } else if (resetAt > now) {
+            budgetIntervalMillis = (resetAt - now) / remaining;
+            budgetUntilMillis = resetAt;
+        }
+    }
+
+    /**
+     * Decides whether a failed request was rejected by a primary or secondary rate limit and should be retried.
+     * If so, all requests are paused for the delay GitHub asked for, or for an exponential backoff when it did not.
+     *
+     * @param ex The failure of the request
+     * @param attempt The number of retries already made for the request
+     * @return {@code true} if the request should be retried, after {@link #acquire() acquiring} its turn again
+     * @throws GitHubRateLimitException If the request was rate limited but may not be retried
+     */
+    public boolean shouldRetry(RestClientResponseException ex, int attempt) {
+        Duration pause = pauseFor(ex, attempt);
+        if (pause == null) {
+            return false;
+        }
+        if (attempt >= maxRetries || pause.compareTo(maxWait) > 0) {
+            throw new GitHubRateLimitException("GitHub search rate limit exceeded", pause);
+        }
+        return true;
+    }
+
+    /**
+     * Pauses requests after a failed request that was rejected by a primary or secondary rate limit, for the delay
+     * GitHub asked for or until the quota resets, or for an exponential backoff when GitHub gave neither.
+     *
+     * @param ex The failure of the request
+     * @param attempt The number of retries already made for the request
+     * @return How long requests are paused, or {@code null} if the request was not rate limited
+     */
+    Duration pauseFor(RestClientResponseException ex, int attempt) {
+        HttpHeaders headers = ex.getResponseHeaders();
+        Long retryAfter = headers != null ? longHeader(headers, HttpHeaders.RETRY_AFTER) : null;
+        boolean quotaExhausted = headers != null && Long.valueOf(0).equals(longHeader(headers, REMAINING_HEADER));
+        boolean rateLimited = ex.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                || ex.getStatusCode().value() == HttpStatus.FORBIDDEN.value() && (retryAfter != null || quotaExhausted);
+        if (!rateLimited) {
+            return null;
+        }
+
+        onResponse(headers);
+        Duration backoff = retryAfter != null
+                ? Duration.ofSeconds(retryAfter)
+                : quotaExhausted ? Duration.ZERO : initialBackoff.multipliedBy(1L << Math.min(attempt, 16));
+        return pause(backoff);
+    }
+
+    Duration maxWait() {
+        return maxWait;
+    }
+
+    int maxRetries() {
+        return maxRetries;
+    }
+
+    private synchronized Duration pause(Duration backoff) {
+        long now = clock.millis();
+        pausedUntilMillis = Math.max(pausedUntilMillis, now + backoff.toMillis());
+        return Duration.ofMillis(pausedUntilMillis - now);
+    }
+
+    private static Long longHeader(HttpHeaders headers, String name) {
+        String value = headers.getFirst(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
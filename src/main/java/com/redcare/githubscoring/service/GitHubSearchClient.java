@@ -0,0 +1,161 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.exception.RepositoryScoringException;
+import com.redcare.githubscoring.model.GitHubSearchPage;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Thin client for the GitHub search API. Each call maps to one upstream request, sent with the least-loaded token
+ * of the {@link GitHubTokenPool} and paced by its rate limiter, plus a bounded number of retries when GitHub rejects
+ * it for rate limiting; a retry may go out with another token.
+ * Every request, but not its wait for a turn on the rate limit, holds a permit of the upstream bulkhead when one is
+ * configured, so that the adaptive limit follows the latency of GitHub alone.
+ * Pages fetched before are requested conditionally through {@link GitHubPageValidators}.
+ */
+@Component
+@RequiredArgsConstructor
+public class GitHubSearchClient {
+
+    private final RestTemplate restTemplate;
+
+    private final GitHubSearchResponseParser responseParser;
+
+    private final ScoringMetrics metrics;
+
+    private final GitHubTokenPool tokenPool;
+
+    private final GitHubPageValidators validators;
+
+    /**
+     * Present when {@code scoring.concurrency-limit.enabled} is set; requests to GitHub then need a permit of this
+     * bulkhead, and are rejected once its adaptive limit is reached.
+     */
+    @Autowired(required = false)
+    @Qualifier("upstreamConcurrencyLimiter")
+    private AdaptiveConcurrencyLimiter upstreamLimiter;
+
+    @Value("${github.api.base-url:https://api.github.com}")
+    private String baseUrl;
+
+    @Value("${github.api.path:/search/repositories}")
+    private String apiPath;
+
+    /**
+     * Fetches one page of repositories matching the given search query, sorted by stars.
+     *
+     * @param language The language searched for, used to tag metrics
+     * @param query The GitHub search query, e.g. {@code language:java created:>2024-01-01}
+     * @param page The 1-based page number
+     * @param perPage The number of items per page (GitHub allows at most 100)
+     * @return The requested page together with the total number of matches reported by GitHub,
+     *         {@link GitHubSearchPage#isNotModified() marked} when GitHub confirmed an earlier fetch of it is unchanged
+     * @throws com.redcare.githubscoring.exception.GitHubRateLimitException If the rate limit does not allow
+     *         sending the request within the configured maximum wait
+     * @throws com.redcare.githubscoring.exception.ServiceOverloadedException If the upstream bulkhead is full
+     */
+    public GitHubSearchPage fetchPage(String language, String query, int page, int perPage) {
+        String url = UriComponentsBuilder.fromHttpUrl(baseUrl)
+            .path(apiPath)
+            .queryParam("q", query)
+            .queryParam("sort", "stars")
+            .queryParam("order", "desc")
+            .queryParam("per_page", perPage)
+            .queryParam("page", page)
+            .build()
+            .toUriString();
+
+        for (int attempt = 0; ; attempt++) {
+            GitHubTokenPool.PooledToken token = tokenPool.acquire();
+            try {
+                return send(token, language, query, page, perPage, url);
+            } catch (RestClientResponseException e) {
+                if (!tokenPool.shouldRetry(token, e, attempt)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private GitHubSearchPage send(GitHubTokenPool.PooledToken token, String language, String query, int page,
+                                  int perPage, String url) {
+        if (upstreamLimiter == null) {
+            return execute(token, language, query, page, perPage, url);
+        }
+        AdaptiveConcurrencyLimiter.Permit permit = upstreamLimiter.acquire();
+        try {
+            GitHubSearchPage fetched = execute(token, language, query, page, perPage, url);
+            permit.release();
+            return fetched;
+        } catch (RuntimeException e) {
+            release(permit, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Releases the upstream permit of a failed request. Server errors and I/O failures such as timeouts tell that
+     * GitHub is overloaded and lower the limit; client errors, including rate limiting, leave it as it is.
+     */
+    static void release(AdaptiveConcurrencyLimiter.Permit permit, Throwable failure) {
+        if (failure instanceof RestClientResponseException e ? e.getStatusCode().is5xxServerError()
+                : failure instanceof ResourceAccessException) {
+            permit.releaseDropped();
+        } else {
+            permit.releaseIgnored();
+        }
+    }
+
+    private GitHubSearchPage execute(GitHubTokenPool.PooledToken token, String language, String query, int page,
+                                     int perPage, String url) {
+        GitHubPageValidators.ValidatedPage cached = validators.lookup(query, page, perPage);
+        Timer.Sample roundTrip = metrics.start();
+        try {
+            return restTemplate.execute(url, HttpMethod.GET,
+                request -> {
+                    request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+                    token.authorize(request.getHeaders());
+                    if (cached != null) {
+                        cached.applyTo(request.getHeaders());
+                    }
+                },
+                response -> {
+                    metrics.recordUpstream(roundTrip, language, String.valueOf(response.getStatusCode().value()));
+                    token.rateLimiter().onResponse(response.getHeaders());
+                    if (cached != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        validators.store(query, page, perPage, response.getHeaders(), cached.page());
+                        return cached.notModified();
+                    }
+                    Timer.Sample parse = metrics.start();
+                    try {
+                        return validators.store(query, page, perPage, response.getHeaders(),
+                                responseParser.parse(response.getBody()));
+                    } catch (IOException e) {
+                        throw new RepositoryScoringException("Failed to parse GitHub repositories", e);
+                    } finally {
+                        metrics.recordParse(parse, language);
+                    }
+                });
+        } catch (RestClientResponseException e) {
+            metrics.recordUpstream(roundTrip, language, String.valueOf(e.getStatusCode().value()));
+            token.rateLimiter().onResponse(e.getResponseHeaders());
+            throw e;
+        } catch (ResourceAccessException e) {
+            metrics.recordUpstream(roundTrip, language, ScoringMetrics.IO_ERROR);
+            throw e;
+        }
+    }
+}
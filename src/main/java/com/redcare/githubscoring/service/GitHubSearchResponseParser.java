@@ -0,0 +1,111 @@
+package com.redcare.githubscoring.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.model.GitHubSearchPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming parser for GitHub search responses.
+ * Repositories are bound one at a time straight from the token stream; fields that are
+ * never scored or returned (owner, license, topics, URLs, ...) are skipped without being materialized.
+ */
+@Component
+@RequiredArgsConstructor
+public class GitHubSearchResponseParser {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Parses a search response body.
+     *
+     * @param body The raw response body; it is read to the end but not closed
+     * @return The parsed page. When the body carries no {@code total_count} the number of items is used instead
+     * @throws IOException If the body is not a valid search response
+     */
+    public GitHubSearchPage parse(InputStream body) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object but found " + parser.currentToken());
+            }
+
+            Integer totalCount = null;
+            boolean incompleteResults = false;
+            List<GitHubRepository> items = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "total_count" -> totalCount = parser.getIntValue();
+                    case "incomplete_results" -> incompleteResults = parser.getBooleanValue();
+                    case "items" -> readItems(parser, items);
+                    default -> parser.skipChildren();
+                }
+            }
+            return new GitHubSearchPage(totalCount != null ? totalCount : items.size(), incompleteResults, items);
+        }
+    }
+
+    private static void readItems(JsonParser parser, List<GitHubRepository> items) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Expected items to be an array but found " + parser.currentToken());
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            items.add(readRepository(parser));
+        }
+    }
+
+    private static GitHubRepository readRepository(JsonParser parser) throws IOException {
+        GitHubRepository repo = new GitHubRepository();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> repo.setId(isNull(parser) ? null : parser.getLongValue());
+                case "name" -> repo.setName(parser.getValueAsString());
+                case "full_name" -> repo.setFullName(parser.getValueAsString());
+                case "description" -> repo.setDescription(parser.getValueAsString());
+                case "language" -> repo.setLanguage(parser.getValueAsString());
+                case "stargazers_count" -> repo.setStargazersCount(intValue(parser));
+                case "forks_count" -> repo.setForksCount(intValue(parser));
+                case "open_issues_count" -> repo.setOpenIssuesCount(intValue(parser));
+                case "created_at" -> repo.setCreatedAt(dateTimeValue(parser));
+                case "updated_at" -> repo.setUpdatedAt(dateTimeValue(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return repo;
+    }
+
+    private static boolean isNull(JsonParser parser) {
+        return parser.currentToken() == JsonToken.VALUE_NULL;
+    }
+
+    private static Integer intValue(JsonParser parser) throws IOException {
+        return isNull(parser) ? null : parser.getIntValue();
+    }
+
+    /**
+     * GitHub timestamps are UTC instants such as {@code 2024-01-01T10:00:00Z}; they are mapped to
+     * the equivalent UTC {@link LocalDateTime}, as the JavaTimeModule deserializer does.
+     */
+    private static LocalDateTime dateTimeValue(JsonParser parser) throws IOException {
+        String text = parser.getValueAsString();
+        if (text == null) {
+            return null;
+        }
+        return text.endsWith("Z")
+                ? LocalDateTime.ofInstant(Instant.parse(text), ZoneOffset.UTC)
+                : LocalDateTime.parse(text);
+    }
+}
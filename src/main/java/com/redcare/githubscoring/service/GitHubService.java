@@ -1,58 +1,566 @@
 package com.redcare.githubscoring.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.CollectionType;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.redcare.githubscoring.config.RepositoriesCacheExpiry;
 import com.redcare.githubscoring.exception.RepositoryScoringException;
 import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.model.GitHubSearchPage;
+import com.redcare.githubscoring.model.RepositoryQuery;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class GitHubService {
 
-    private final RestTemplate restTemplate;
+    public static final String REPOSITORIES_CACHE = "repositories";
 
-    private final ObjectMapper objectMapper;
-    
-    @Value("${github.api.base-url:https://api.github.com}")
-    private String baseUrl;
+    static final int PAGE_SIZE = 100;
 
-    @Value("${github.api.path:/search/repositories}")
-    private String apiPath;
+    /**
+     * GitHub search never returns more than this many results for a single query.
+     */
+    static final int SEARCH_RESULT_CAP = 1000;
 
-    @Cacheable(value = "repositories", key = "#language + '-' + #createdAfter")
+    private final GitHubSearchClient searchClient;
+
+    private final CacheManager cacheManager;
+
+    private final ScoringMetrics metrics;
+
+    @Qualifier("githubSearchExecutor")
+    private final Executor searchExecutor;
+
+    /**
+     * Present when {@code github.reactive.enabled} is set; pages are then fetched without blocking any thread.
+     */
+    @Autowired(required = false)
+    private ReactiveGitHubSearchClient reactiveSearchClient;
+
+    /**
+     * Fetched repository lists known to hold every repository matching their query, rather than only the
+     * results that fit into the fetched pages. Compared by identity and forgotten once a list is unreferenced.
+     */
+    private final com.github.benmanes.caffeine.cache.Cache<List<?>, Boolean> completeResults = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+
+    /**
+     * Present when {@code github.cache.snapshot.enabled} is set; misses are then first answered from the snapshot
+     * of the cache written before the last restart.
+     */
+    @Autowired(required = false)
+    private RepositoryCacheSnapshot snapshot;
+
+    /**
+     * Hard TTLs of the {@code repositories} cache; repositories restored from the snapshot keep the remaining TTL
+     * they had when it was written.
+     */
+    @Autowired(required = false)
+    private RepositoriesCacheExpiry cacheExpiry;
+
+    /**
+     * Queries restored from the snapshot with repositories older than the soft TTL, which are refreshed once the
+     * restored repositories are cached.
+     */
+    private final Set<RepositoryQuery> staleRestored = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Present when {@code github.cache.shared.enabled} is set; misses are then answered from the cache shared by all
+     * replicas before fetching from GitHub, and fetched repositories are stored there.
+     */
+    @Autowired(required = false)
+    private SharedRepositoryCache sharedCache;
+
+    /**
+     * Present when {@code github.cache.warmup.enabled} is set; searches are then counted so that the most frequent
+     * ones are kept warm.
+     */
+    @Autowired(required = false)
+    private HotQueryTracker hotQueries;
+
+    @Value("${github.search.max-pages:1}")
+    private int maxPages;
+
+    @Value("${github.search.sharding.enabled:false}")
+    private boolean shardingEnabled;
+
+    @Value("${github.search.sharding.max-shards:16}")
+    private int maxShards;
+
+    /**
+     * Searches repositories of the given language created after the given date.
+     * Results are cached per query; concurrent callers that miss the cache for the same query
+     * wait on a single upstream fetch rather than each starting their own. A miss is answered without calling
+     * GitHub when a complete result of an earlier date for the same language is cached.
+     *
+     * @param language The repository language
+     * @param createdAfter Only repositories created after this date are returned
+     * @return The distinct repositories, in the order GitHub returned them
+     */
     public List<GitHubRepository> searchRepositories(String language, LocalDate createdAfter) {
-        String query = String.format("language:%s created:>%s", 
-            language, 
-            createdAfter.format(DateTimeFormatter.ISO_DATE));
-
-        String url = UriComponentsBuilder.fromHttpUrl(baseUrl)
-            .path(apiPath)
-            .queryParam("q", query)
-            .queryParam("sort", "stars")
-            .queryParam("order", "desc")
-            .build()
-            .toUriString();
-
-        JsonNode root = restTemplate.getForObject(url, JsonNode.class);
-        JsonNode itemsNode = Objects.requireNonNull(root).get("items");
-
-        CollectionType repoListType = objectMapper.getTypeFactory()
-                .constructCollectionType(List.class, GitHubRepository.class);
+        return await(searchRepositoriesAsync(language, createdAfter));
+    }
+
+    /**
+     * Non-blocking variant of {@link #searchRepositories}, sharing its cache and upstream fetches.
+     *
+     * @param language The repository language
+     * @param createdAfter Only repositories created after this date are returned
+     * @return A future completed with the distinct repositories, in the order GitHub returned them
+     */
+    public CompletableFuture<List<GitHubRepository>> searchRepositoriesAsync(String language, LocalDate createdAfter) {
+        RepositoryQuery query = new RepositoryQuery(language, createdAfter);
+        record(query);
+        return refreshIfRestoredStale(query, repositoriesCache().retrieve(query, () -> loadRepositories(query)));
+    }
+
+    /**
+     * Searches repositories like {@link #searchRepositories}, reporting them page by page as GitHub answers.
+     * When this call triggers the upstream fetch, every distinct repository is passed to {@code onRepositories}
+     * exactly once, in batches of at most a page, from the threads completing the page requests.
+     * When the result is already cached, covered by a cached result or being fetched for another caller,
+     * {@code onRepositories} is not called.
+     *
+     * @param language The repository language
+     * @param createdAfter Only repositories created after this date are returned
+     * @param onRepositories Receives the repositories of each page that were not part of an earlier page
+     * @return A future completed with the distinct repositories, in the order GitHub returned them
+     */
+    public CompletableFuture<List<GitHubRepository>> streamRepositories(String language, LocalDate createdAfter,
+                                                                        Consumer<List<GitHubRepository>> onRepositories) {
+        RepositoryQuery query = new RepositoryQuery(language, createdAfter);
+        record(query);
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        return refreshIfRestoredStale(query, repositoriesCache().retrieve(query, () -> cachedElsewhere(query)
+                .thenCompose(cached -> cached
+                        .map(CompletableFuture::completedFuture)
+                        .orElseGet(() -> share(query, fetchRepositories(query, null, page -> onRepositories.accept(
+                                page.getItems().stream()
+                                        .filter(repo -> repo.getId() == null || seen.add(repo.getId()))
+                                        .toList())))))));
+    }
+
+    /**
+     * Loads the repositories matching the query for the {@code repositories} cache.
+     * Repositories restored from the {@link RepositoryCacheSnapshot cache snapshot} are used first, then those in
+     * the {@link SharedRepositoryCache shared cache}. When the cache holds a complete result for the same language
+     * and an earlier date, the repositories are filtered from it on their creation date; otherwise they are
+     * {@link #fetchRepositories fetched} from GitHub and stored in the shared cache.
+     *
+     * @param query The repository query
+     * @return A future completed with the distinct repositories
+     */
+    public CompletableFuture<List<GitHubRepository>> loadRepositories(RepositoryQuery query) {
+        return cachedElsewhere(query).thenCompose(cached -> cached
+                .map(CompletableFuture::completedFuture)
+                .orElseGet(() -> share(query, fetchRepositories(query))));
+    }
+
+    /**
+     * Tells whether warming the query would load or refresh its repositories: it is not cached, or its cached
+     * repositories are due for a refresh within {@code margin}. A query whose repositories are being loaded is warm.
+     *
+     * @param query The repository query
+     * @param margin How long before its refresh is due a cached entry is refreshed
+     * @return Whether {@link #warmRepositories} would load or refresh the repositories of the query
+     */
+    public boolean needsWarming(RepositoryQuery query, Duration margin) {
+        if (!(repositoriesCache() instanceof CaffeineCache cache)) {
+            return true;
+        }
+        CompletableFuture<Object> cached = cache.getAsyncCache().asMap().get(query);
+        if (cached == null || cached.isCompletedExceptionally()) {
+            return true;
+        }
+        return cached.isDone() && cache.getNativeCache().policy().refreshAfterWrite()
+                .flatMap(refresh -> refresh.ageOf(query)
+                        .map(age -> age.plus(margin).compareTo(refresh.getRefreshesAfter()) >= 0))
+                .orElse(false);
+    }
+
+    /**
+     * Loads the repositories of the query into the cache like a search, without counting it as one, and refreshes
+     * cached repositories that are due for a refresh within {@code margin} like an access after the soft TTL would.
+     *
+     * @param query The repository query
+     * @param margin How long before its refresh is due a cached entry is refreshed
+     * @return A future completed with the cached repositories, once loaded or refreshed
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<List<GitHubRepository>> warmRepositories(RepositoryQuery query, Duration margin) {
+        if (repositoriesCache() instanceof CaffeineCache cache
+                && cache.getNativeCache() instanceof LoadingCache<Object, Object> loadingCache
+                && cache.getAsyncCache().asMap().containsKey(query)
+                && needsWarming(query, margin)) {
+            return loadingCache.refresh(query).thenApply(repositories -> (List<GitHubRepository>) repositories);
+        }
+        return refreshIfRestoredStale(query, repositoriesCache().retrieve(query, () -> loadRepositories(query)));
+    }
+
+    /**
+     * Fetches the repositories matching the query from GitHub, bypassing the cache.
+     * Up to {@code github.search.max-pages} pages are fetched concurrently and merged,
+     * dropping repositories that appear on more than one page.
+     * When sharding is enabled the creation window is split into date slices small enough
+     * to stay below GitHub's 1000-result cap, and the slices are fetched in parallel.
+     *
+     * @param query The repository query
+     * @return A future completed with the distinct repositories, in the order GitHub returned them
+     */
+    public CompletableFuture<List<GitHubRepository>> fetchRepositories(RepositoryQuery query) {
+        return fetchRepositories(query, null, page -> { });
+    }
+
+    /**
+     * Fetches the repositories matching the query again to refresh a cached result.
+     * Pages fetched before are requested conditionally; when GitHub reports every page as not modified,
+     * the cached list itself is returned, so that results derived from it stay valid.
+     * A result covered by a broader cached result is filtered from it again instead; {@code previous} is kept
+     * when that yields the same repositories. Changed repositories fetched from GitHub replace those in the shared
+     * cache, and the other replicas are told to drop their own copy.
+     *
+     * @param query The repository query
+     * @param previous The currently cached repositories of the query
+     * @return A future completed with {@code previous} if nothing changed, or else with the fetched repositories
+     */
+    public CompletableFuture<List<GitHubRepository>> refreshRepositories(RepositoryQuery query,
+                                                                         List<GitHubRepository> previous) {
+        if (cacheExpiry != null) {
+            cacheExpiry.restart(query);
+        }
+        Optional<List<GitHubRepository>> covered = coveredRepositories(query);
+        if (covered.isPresent()) {
+            if (covered.get().equals(previous)) {
+                completeResults.put(previous, Boolean.TRUE);
+                return CompletableFuture.completedFuture(previous);
+            }
+            return CompletableFuture.completedFuture(covered.get());
+        }
+        CompletableFuture<List<GitHubRepository>> fetch = fetchRepositories(query, previous, page -> { });
+        if (sharedCache == null) {
+            return fetch;
+        }
+        return fetch.thenApplyAsync(repositories -> {
+            if (repositories != previous) {
+                sharedCache.put(query, repositories, isComplete(repositories));
+                sharedCache.invalidateOthers(query);
+            }
+            return repositories;
+        }, searchExecutor);
+    }
+
+    private CompletableFuture<List<GitHubRepository>> fetchRepositories(RepositoryQuery query,
+                                                                        List<GitHubRepository> previous,
+                                                                        Consumer<GitHubSearchPage> onPage) {
+        Timer.Sample fetch = metrics.start();
+        LocalDate from = query.createdAfter().plusDays(1);
+        LocalDate to = LocalDate.now(ZoneOffset.UTC);
+
+        CompletableFuture<List<GitHubSearchPage>> pages = shardingEnabled && !from.isAfter(to)
+                ? fetchSlice(query.language(), from, to, new AtomicInteger(maxShards - 1), onPage)
+                : fetchAllPages(query.language(), String.format("language:%s created:>%s",
+                    query.language(),
+                    query.createdAfter().format(DateTimeFormatter.ISO_DATE)), onPage);
+
+        return pages.thenApply(fetched -> {
+                    List<GitHubRepository> repositories =
+                            previous != null && fetched.stream().allMatch(GitHubSearchPage::isNotModified)
+                                    ? previous
+                                    : mergeDistinct(fetched);
+                    if (fetched.stream().allMatch(this::isComplete)) {
+                        completeResults.put(repositories, Boolean.TRUE);
+                    }
+                    return repositories;
+                })
+                .whenComplete((repositories, ex) -> metrics.recordFetch(fetch, query.language(), ex == null));
+    }
+
+    /**
+     * Fetches all repositories created within {@code [from, to]}. A slice reporting more results than
+     * GitHub will return is split into as many equal sub-slices as its total count requires, for as long
+     * as the shard budget allows; the first page of an oversized slice is discarded.
+     */
+    private CompletableFuture<List<GitHubSearchPage>> fetchSlice(String language, LocalDate from, LocalDate to,
+                                                                 AtomicInteger shardBudget,
+                                                                 Consumer<GitHubSearchPage> onPage) {
+        String query = String.format("language:%s created:%s..%s",
+            language,
+            from.format(DateTimeFormatter.ISO_DATE),
+            to.format(DateTimeFormatter.ISO_DATE));
+
+        return fetchPage(language, query, 1).thenCompose(first -> {
+            long days = ChronoUnit.DAYS.between(from, to) + 1;
+            int parts = (int) Math.min(days, ((long) first.getTotalCount() + SEARCH_RESULT_CAP - 1) / SEARCH_RESULT_CAP);
+            parts = Math.min(parts, reserveShards(shardBudget, parts - 1) + 1);
+            if (parts < 2) {
+                return fetchRemainingPages(language, query, first, onPage);
+            }
+
+            List<CompletableFuture<List<GitHubSearchPage>>> slices = new ArrayList<>(parts);
+            LocalDate sliceStart = from;
+            for (int part = 0; part < parts; part++) {
+                LocalDate sliceEnd = part == parts - 1 ? to : from.plusDays(days * (part + 1) / parts - 1);
+                slices.add(fetchSlice(language, sliceStart, sliceEnd, shardBudget, onPage));
+                sliceStart = sliceEnd.plusDays(1);
+            }
+            return CompletableFuture.allOf(slices.toArray(CompletableFuture[]::new))
+                    .thenApply(done -> slices.stream().flatMap(slice -> slice.join().stream()).toList());
+        });
+    }
+
+    /**
+     * @return Whether the given repository list is known to hold every repository matching its query
+     */
+    boolean isComplete(List<?> repositories) {
+        return completeResults.getIfPresent(repositories) != null;
+    }
+
+    /**
+     * Looks for the repositories of a query missing the cache in the snapshot, the shared cache and the cached
+     * results of earlier dates, in this order. The cache calls its loader while holding a lock on the entry's map
+     * bin, so when the snapshot or the shared cache are enabled, whose lookups read a file or call a remote store,
+     * the lookup runs on the search executor instead of the loading thread.
+     */
+    private CompletableFuture<Optional<List<GitHubRepository>>> cachedElsewhere(RepositoryQuery query) {
+        if (snapshot == null && sharedCache == null) {
+            return CompletableFuture.completedFuture(coveredRepositories(query));
+        }
+        return CompletableFuture.supplyAsync(() -> restoredRepositories(query)
+                .or(() -> sharedRepositories(query))
+                .or(() -> coveredRepositories(query)), searchExecutor);
+    }
+
+    private Optional<List<GitHubRepository>> sharedRepositories(RepositoryQuery query) {
+        if (sharedCache == null) {
+            return Optional.empty();
+        }
+        return sharedCache.get(query).map(entry -> {
+            if (entry.complete()) {
+                completeResults.put(entry.repositories(), Boolean.TRUE);
+            }
+            return entry.repositories();
+        });
+    }
+
+    /**
+     * Stores fetched repositories in the shared cache. The fetch may complete on a Netty event loop, which must not
+     * wait on the remote store, so the store is written on the search executor.
+     */
+    private CompletableFuture<List<GitHubRepository>> share(RepositoryQuery query,
+                                                            CompletableFuture<List<GitHubRepository>> fetch) {
+        if (sharedCache == null) {
+            return fetch;
+        }
+        return fetch.thenApplyAsync(repositories -> {
+            sharedCache.put(query, repositories, isComplete(repositories));
+            return repositories;
+        }, searchExecutor);
+    }
+
+    private Optional<List<GitHubRepository>> restoredRepositories(RepositoryQuery query) {
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        return snapshot.take(query).map(entry -> {
+            if (entry.complete()) {
+                completeResults.put(entry.repositories(), Boolean.TRUE);
+            }
+            if (cacheExpiry != null) {
+                cacheExpiry.carryOver(query, entry.repositories(), entry.expiresAt());
+            }
+            if (softTtl().filter(ttl -> !entry.writtenAt().plus(ttl).isAfter(Instant.now())).isPresent()) {
+                staleRestored.add(query);
+            }
+            return entry.repositories();
+        });
+    }
+
+    /**
+     * Refreshes the repositories of the query in the background once they are cached, if they were restored from
+     * the snapshot after their soft TTL, as a read of a cached entry after its soft TTL would.
+     */
+    private <T> CompletableFuture<T> refreshIfRestoredStale(RepositoryQuery query, CompletableFuture<T> cached) {
+        if (snapshot == null) {
+            return cached;
+        }
+        return cached.whenComplete((repositories, ex) -> {
+            if (ex == null && staleRestored.remove(query)
+                    && repositoriesCache() instanceof CaffeineCache cache
+                    && cache.getNativeCache() instanceof LoadingCache<Object, Object> loadingCache) {
+                loadingCache.refresh(query);
+            }
+        });
+    }
+
+    private Optional<Duration> softTtl() {
+        if (!(repositoriesCache() instanceof CaffeineCache cache)) {
+            return Optional.empty();
+        }
+        return cache.getNativeCache().policy().refreshAfterWrite().map(Policy.FixedRefresh::getRefreshesAfter);
+    }
+
+    /**
+     * Finds the cached complete result of the latest date before the query's for the same language, and keeps
+     * the repositories of it that were created after the query's date. Repositories created after a date are
+     * a subset of those created after any earlier date, so the filtered list is the complete result of the query.
+     */
+    private Optional<List<GitHubRepository>> coveredRepositories(RepositoryQuery query) {
+        if (!(repositoriesCache() instanceof CaffeineCache cache)) {
+            return Optional.empty();
+        }
+        RepositoryQuery coveringQuery = null;
+        List<?> covering = null;
+        for (Map.Entry<Object, CompletableFuture<Object>> entry : cache.getAsyncCache().asMap().entrySet()) {
+            if (entry.getKey() instanceof RepositoryQuery cached
+                    && cached.language().equalsIgnoreCase(query.language())
+                    && cached.createdAfter().isBefore(query.createdAfter())
+                    && (coveringQuery == null || cached.createdAfter().isAfter(coveringQuery.createdAfter()))
+                    && entry.getValue().isDone()
+                    && !entry.getValue().isCompletedExceptionally()
+                    && entry.getValue().join() instanceof List<?> repositories
+                    && isComplete(repositories)) {
+                coveringQuery = cached;
+                covering = repositories;
+            }
+        }
+        if (covering == null) {
+            return Optional.empty();
+        }
+        List<GitHubRepository> repositories = covering.stream()
+                .map(GitHubRepository.class::cast)
+                .filter(repo -> repo.getCreatedAt() != null
+                        && repo.getCreatedAt().toLocalDate().isAfter(query.createdAfter()))
+                .toList();
+        completeResults.put(repositories, Boolean.TRUE);
+        metrics.recordSubsumed(query.language());
+        return Optional.of(repositories);
+    }
+
+    /**
+     * A page is complete when the pages fetched for its search hold all of its results: GitHub did not time out,
+     * and neither the page limit nor GitHub's result cap cut the search short.
+     */
+    private boolean isComplete(GitHubSearchPage page) {
+        return !page.isIncompleteResults()
+                && page.getTotalCount() <= Math.min(SEARCH_RESULT_CAP, (long) maxPages * PAGE_SIZE);
+    }
+
+    private static int reserveShards(AtomicInteger shardBudget, int wanted) {
+        if (wanted <= 0) {
+            return 0;
+        }
+        int[] granted = new int[1];
+        shardBudget.getAndUpdate(remaining -> {
+            granted[0] = Math.max(0, Math.min(remaining, wanted));
+            return remaining - granted[0];
+        });
+        return granted[0];
+    }
+
+    private CompletableFuture<List<GitHubSearchPage>> fetchAllPages(String language, String query,
+                                                                    Consumer<GitHubSearchPage> onPage) {
+        return fetchPage(language, query, 1).thenCompose(first -> fetchRemainingPages(language, query, first, onPage));
+    }
+
+    /**
+     * Fetches the pages following {@code first}. Only pages that become part of the result are passed to
+     * {@code onPage}, so the discarded first page of an oversized shard is never reported.
+     */
+    private CompletableFuture<List<GitHubSearchPage>> fetchRemainingPages(String language, String query,
+                                                                          GitHubSearchPage first,
+                                                                          Consumer<GitHubSearchPage> onPage) {
+        int pages = pageCount(first.getTotalCount());
+        List<CompletableFuture<GitHubSearchPage>> futures = new ArrayList<>(pages);
+        onPage.accept(first);
+        futures.add(CompletableFuture.completedFuture(first));
+        for (int page = 2; page <= pages; page++) {
+            futures.add(fetchPage(language, query, page).thenApply(fetched -> {
+                onPage.accept(fetched);
+                return fetched;
+            }));
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(done -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    private CompletableFuture<GitHubSearchPage> fetchPage(String language, String query, int page) {
+        if (reactiveSearchClient != null) {
+            return reactiveSearchClient.fetchPage(language, query, page, PAGE_SIZE).toFuture();
+        }
+        return CompletableFuture.supplyAsync(() -> searchClient.fetchPage(language, query, page, PAGE_SIZE),
+                searchExecutor);
+    }
+
+    private int pageCount(int totalCount) {
+        int reachable = Math.min(totalCount, SEARCH_RESULT_CAP);
+        int pages = (reachable + PAGE_SIZE - 1) / PAGE_SIZE;
+        return Math.max(1, Math.min(pages, maxPages));
+    }
+
+    private static List<GitHubRepository> mergeDistinct(List<GitHubSearchPage> pages) {
+        Map<Long, GitHubRepository> byId = new LinkedHashMap<>();
+        List<GitHubRepository> withoutId = new ArrayList<>();
+        for (GitHubSearchPage page : pages) {
+            for (GitHubRepository repo : page.getItems()) {
+                if (repo.getId() == null) {
+                    withoutId.add(repo);
+                } else {
+                    byId.putIfAbsent(repo.getId(), repo);
+                }
+            }
+        }
+        List<GitHubRepository> merged = new ArrayList<>(byId.values());
+        merged.addAll(withoutId);
+        return merged;
+    }
+
+    private void record(RepositoryQuery query) {
+        if (hotQueries != null) {
+            hotQueries.record(query);
+        }
+    }
+
+    private Cache repositoriesCache() {
+        return Objects.requireNonNull(cacheManager.getCache(REPOSITORIES_CACHE));
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
         try {
-            return objectMapper.readValue(itemsNode.traverse(), repoListType);
-        } catch (Exception e) {
-            throw new RepositoryScoringException("Failed to parse GitHub repositories", e);
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RepositoryScoringException("Failed to fetch GitHub repositories", e.getCause());
         }
     }
-} 
\ No newline at end of file
+}
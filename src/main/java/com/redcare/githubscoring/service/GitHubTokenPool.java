@@ -0,0 +1,247 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.exception.GitHubRateLimitException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The credentials GitHub search requests are sent with, configured as {@code github.tokens}.
+ * Every token has its own {@link GitHubRateLimiter} of {@code github.rate-limit.requests-per-minute}, so the usable
+ * request rate grows linearly with the number of tokens. Each request goes to the least-loaded token: the one whose
+ * turn comes first, then the one with the most remaining quota, then the one that sent the fewest requests.
+ * A token whose quota is exhausted or that GitHub asked to retry later is quarantined until then, and only used
+ * when every other token is quarantined as well; requests it failed fail over to the other tokens.
+ * Without tokens, requests are sent unauthenticated. Unless configured otherwise, each token sends up to
+ * {@value #AUTHENTICATED_REQUESTS_PER_MINUTE} requests per minute, GitHub's search limit for authenticated clients,
+ * and unauthenticated requests are kept to GitHub's {@value #ANONYMOUS_REQUESTS_PER_MINUTE} per minute.
+ */
+@Component
+public class GitHubTokenPool implements MeterBinder {
+
+    static final int AUTHENTICATED_REQUESTS_PER_MINUTE = 30;
+
+    static final int ANONYMOUS_REQUESTS_PER_MINUTE = 10;
+
+    private static final Comparator<PooledToken> LEAST_LOADED = Comparator
+            .comparing((PooledToken token) -> token.rateLimiter().estimateWait())
+            .thenComparing(token -> token.rateLimiter().remaining() < 0
+                    ? Integer.MIN_VALUE
+                    : -token.rateLimiter().remaining())
+            .thenComparingLong(PooledToken::requests);
+
+    private final List<PooledToken> tokens;
+
+    @Autowired
+    public GitHubTokenPool(@Value("${github.tokens:}") List<String> tokens,
+                           @Value("${github.rate-limit.requests-per-minute:#{null}}") Integer requestsPerMinute,
+                           @Value("${github.rate-limit.burst:10}") int burst,
+                           @Value("${github.rate-limit.max-wait:30s}") Duration maxWait,
+                           @Value("${github.rate-limit.max-retries:3}") int maxRetries,
+                           @Value("${github.rate-limit.initial-backoff:1s}") Duration initialBackoff) {
+        this(tokens, () -> new GitHubRateLimiter(
+                requestsPerMinute != null ? requestsPerMinute : defaultRequestsPerMinute(tokens),
+                burst, maxWait, maxRetries, initialBackoff));
+    }
+
+    GitHubTokenPool(List<String> tokens, Supplier<GitHubRateLimiter> rateLimiters) {
+        List<String> configured = configured(tokens);
+        List<PooledToken> pooled = new ArrayList<>();
+        for (int i = 0; i < configured.size(); i++) {
+            pooled.add(new PooledToken("token-" + (i + 1), configured.get(i), rateLimiters.get()));
+        }
+        if (pooled.isEmpty()) {
+            pooled.add(new PooledToken("anonymous", null, rateLimiters.get()));
+        }
+        this.tokens = List.copyOf(pooled);
+    }
+
+    /**
+     * The number of search requests per minute GitHub allows each configured token, or unauthenticated clients
+     * without any.
+     */
+    static int defaultRequestsPerMinute(List<String> tokens) {
+        return configured(tokens).isEmpty() ? ANONYMOUS_REQUESTS_PER_MINUTE : AUTHENTICATED_REQUESTS_PER_MINUTE;
+    }
+
+    private static List<String> configured(List<String> tokens) {
+        return tokens.stream()
+                .map(String::trim)
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * A pool sending every request unauthenticated, paced by the given rate limiter.
+     */
+    public static GitHubTokenPool anonymous(GitHubRateLimiter rateLimiter) {
+        return new GitHubTokenPool(List.of(), () -> rateLimiter);
+    }
+
+    /**
+     * Waits on the calling thread for the turn of the next request on the least-loaded token.
+     *
+     * @return The token to send the request with
+     * @throws GitHubRateLimitException If no token has a turn within the maximum wait
+     */
+    public PooledToken acquire() {
+        Reservation reservation = reserve();
+        GitHubRateLimiter.await(reservation.delay());
+        return reservation.token();
+    }
+
+    /**
+     * Reserves the turn of the next request on the least-loaded token without waiting for it, for callers that
+     * wait asynchronously.
+     *
+     * @return The token to send the request with, and how long to wait before sending it
+     * @throws GitHubRateLimitException If no token has a turn within the maximum wait
+     */
+    public synchronized Reservation reserve() {
+        PooledToken token = tokens.size() == 1 ? tokens.get(0) : tokens.stream().min(LEAST_LOADED).orElseThrow();
+        Duration wait = token.rateLimiter().reserve();
+        token.requests.incrementAndGet();
+        return new Reservation(token, wait);
+    }
+
+    /**
+     * Decides whether a request that failed with the given token should be retried. A token rejected by a rate limit
+     * is quarantined for the delay GitHub asked for, or until its quota resets. The request is retried as long as some
+     * token, not necessarily the same, has a turn within the maximum wait. Failing over to another token does not
+     * use up the retries of the request: it is retried up to {@code github.rate-limit.max-retries} times plus once
+     * per further token.
+     *
+     * @param token The token the request was sent with
+     * @param ex The failure of the request
+     * @param attempt The number of retries already made for the request
+     * @return {@code true} if the request should be retried, after acquiring a token again
+     * @throws GitHubRateLimitException If the request was rate limited but may not be retried
+     */
+    public boolean shouldRetry(PooledToken token, RestClientResponseException ex, int attempt) {
+        GitHubRateLimiter rateLimiter = token.rateLimiter();
+        Duration pause = rateLimiter.pauseFor(ex, attempt);
+        if (pause == null) {
+            return false;
+        }
+        Duration wait = tokens.size() == 1 ? pause : estimateWait();
+        if (attempt >= rateLimiter.maxRetries() + tokens.size() - 1 || wait.compareTo(rateLimiter.maxWait()) > 0) {
+            throw new GitHubRateLimitException("GitHub search rate limit exceeded", wait);
+        }
+        return true;
+    }
+
+    /**
+     * @return How long the next request would have to wait for its turn on the least-loaded token, without
+     *         reserving it
+     */
+    public synchronized Duration estimateWait() {
+        return tokens.stream()
+                .map(token -> token.rateLimiter().estimateWait())
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+    }
+
+    /**
+     * @return The tokens of the pool, in configuration order
+     */
+    public List<PooledToken> tokens() {
+        return tokens;
+    }
+
+    /**
+     * Publishes the remaining quota GitHub last reported for each token, -1 before its first response, and whether
+     * the token is quarantined.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (PooledToken token : tokens) {
+            Gauge.builder("github.rate-limit.remaining", token, pooled -> pooled.rateLimiter().remaining())
+                    .tag("token", token.name())
+                    .description("Remaining GitHub search requests in the current rate limit window")
+                    .register(registry);
+            Gauge.builder("github.rate-limit.quarantined", token, pooled -> pooled.isQuarantined() ? 1 : 0)
+                    .tag("token", token.name())
+                    .description("Whether the token is held back until its rate limit resets")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * A credential of the pool with its rate limiter. The token itself is never exposed beyond
+     * {@link #authorize(HttpHeaders) authorizing} requests.
+     */
+    public static final class PooledToken {
+
+        private final String name;
+
+        private final String token;
+
+        private final GitHubRateLimiter rateLimiter;
+
+        private final AtomicLong requests = new AtomicLong();
+
+        private PooledToken(String name, String token, GitHubRateLimiter rateLimiter) {
+            this.name = name;
+            this.token = token;
+            this.rateLimiter = rateLimiter;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public boolean isAuthenticated() {
+            return token != null;
+        }
+
+        public GitHubRateLimiter rateLimiter() {
+            return rateLimiter;
+        }
+
+        /**
+         * @return The number of requests sent or reserved with this token
+         */
+        public long requests() {
+            return requests.get();
+        }
+
+        public boolean isQuarantined() {
+            return rateLimiter.pausedUntil() != null;
+        }
+
+        /**
+         * Adds the credential to the headers of a request, if the token is not anonymous.
+         */
+        public void authorize(HttpHeaders headers) {
+            if (token != null) {
+                headers.setBearerAuth(token);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * The turn of a request on a token.
+     *
+     * @param token The token to send the request with
+     * @param delay How long to wait before sending the request
+     */
+    public record Reservation(PooledToken token, Duration delay) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.model.RepositoryQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The hot queries kept warm by the {@link CacheWarmupService}, enabled with {@code github.cache.warmup.enabled}:
+ * those configured as {@code github.cache.warmup.queries}, followed by up to {@code github.cache.warmup.learned}
+ * queries searched at least {@code github.cache.warmup.min-requests} times recently, most searched first.
+ * A configured query is a language and either a date, such as {@code java:2024-01-01}, or a period before today,
+ * such as {@code java:P30D}. Searches are counted with exponential decay, so that a search weighs half as much
+ * after every {@code github.cache.warmup.half-life}.
+ */
+@Component
+@ConditionalOnProperty(name = "github.cache.warmup.enabled", havingValue = "true")
+public class HotQueryTracker {
+
+    /**
+     * At most this many distinct queries are counted; searches for further queries are ignored until the counts
+     * of others have decayed.
+     */
+    static final int MAX_TRACKED = 10_000;
+
+    /**
+     * Counts that decayed below this are forgotten.
+     */
+    private static final double FORGOTTEN = 0.05;
+
+    private final List<ConfiguredQuery> configured;
+
+    private final int learned;
+
+    private final double minRequests;
+
+    private final Duration halfLife;
+
+    private final Clock clock;
+
+    private final Map<RepositoryQuery, Double> counts = new ConcurrentHashMap<>();
+
+    private Instant decayedAt;
+
+    @Autowired
+    public HotQueryTracker(@Value("${github.cache.warmup.queries:}") List<String> queries,
+                           @Value("${github.cache.warmup.learned:20}") int learned,
+                           @Value("${github.cache.warmup.min-requests:3}") double minRequests,
+                           @Value("${github.cache.warmup.half-life:1h}") Duration halfLife) {
+        this(queries, learned, minRequests, halfLife, Clock.systemUTC());
+    }
+
+    HotQueryTracker(List<String> queries, int learned, double minRequests, Duration halfLife, Clock clock) {
+        this.configured = queries.stream()
+                .map(String::trim)
+                .filter(query -> !query.isEmpty())
+                .map(ConfiguredQuery::parse)
+                .toList();
+        this.learned = learned;
+        this.minRequests = minRequests;
+        this.halfLife = halfLife;
+        this.clock = clock;
+        this.decayedAt = clock.instant();
+    }
+
+    /**
+     * Counts a search for the query.
+     */
+    public void record(RepositoryQuery query) {
+        if (counts.size() < MAX_TRACKED || counts.containsKey(query)) {
+            counts.merge(query, 1.0, Double::sum);
+        }
+    }
+
+    /**
+     * @return The configured queries, resolved against today, then the learned queries most searched first
+     */
+    public List<RepositoryQuery> hotQueries() {
+        decay();
+        LocalDate today = LocalDate.now(clock);
+        Set<RepositoryQuery> queries = new LinkedHashSet<>();
+        configured.forEach(query -> queries.add(query.resolve(today)));
+        counts.entrySet().stream()
+                .filter(entry -> entry.getValue() >= minRequests)
+                .sorted(Map.Entry.<RepositoryQuery, Double>comparingByValue(Comparator.reverseOrder()))
+                .limit(learned)
+                .forEach(entry -> queries.add(entry.getKey()));
+        return new ArrayList<>(queries);
+    }
+
+    private synchronized void decay() {
+        Instant now = clock.instant();
+        double halfLives = (double) Duration.between(decayedAt, now).toMillis() / halfLife.toMillis();
+        if (halfLives <= 0) {
+            return;
+        }
+        double factor = Math.pow(0.5, halfLives);
+        counts.replaceAll((query, count) -> count * factor);
+        counts.values().removeIf(count -> count < FORGOTTEN);
+        decayedAt = now;
+    }
+
+    private record ConfiguredQuery(String language, LocalDate createdAfter, Period before) {
+
+        static ConfiguredQuery parse(String query) {
+            int separator = query.lastIndexOf(':');
+            if (separator <= 0 || separator == query.length() - 1) {
+                throw new IllegalArgumentException("Hot query must be <language>:<date or period>: " + query);
+            }
+            String language = query.substring(0, separator).trim();
+            String date = query.substring(separator + 1).trim();
+            try {
+                return date.startsWith("P")
+                        ? new ConfiguredQuery(language, null, Period.parse(date))
+                        : new ConfiguredQuery(language, LocalDate.parse(date), null);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid date or period in hot query: " + query, e);
+            }
+        }
+
+        RepositoryQuery resolve(LocalDate today) {
+            return new RepositoryQuery(language, createdAfter != null ? createdAfter : today.minus(before));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.exception.RepositoryScoringException;
+import com.redcare.githubscoring.model.GitHubSearchPage;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Non-blocking counterpart of {@link GitHubSearchClient}, enabled with {@code github.reactive.enabled}.
+ * Failures are reported as the same {@link RestClientException} types the blocking client throws,
+ * so that they are handled identically further up. Requests share the {@link GitHubTokenPool} of the
+ * blocking client, but wait for their turn on a timer instead of a thread. Like there, only the request itself
+ * holds a permit of the upstream bulkhead.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "github.reactive.enabled", havingValue = "true")
+public class ReactiveGitHubSearchClient {
+
+    @Qualifier("githubWebClient")
+    private final WebClient webClient;
+
+    private final GitHubSearchResponseParser responseParser;
+
+    private final ScoringMetrics metrics;
+
+    private final GitHubTokenPool tokenPool;
+
+    private final GitHubPageValidators validators;
+
+    /**
+     * Present when {@code scoring.concurrency-limit.enabled} is set; requests to GitHub then need a permit of this
+     * bulkhead, and are rejected once its adaptive limit is reached.
+     */
+    @Autowired(required = false)
+    @Qualifier("upstreamConcurrencyLimiter")
+    private AdaptiveConcurrencyLimiter upstreamLimiter;
+
+    @Value("${github.api.path:/search/repositories}")
+    private String apiPath;
+
+    /**
+     * Fetches one page of repositories matching the given search query, sorted by stars.
+     *
+     * @param language The language searched for, used to tag metrics
+     * @param query The GitHub search query, e.g. {@code language:java created:>2024-01-01}
+     * @param page The 1-based page number
+     * @param perPage The number of items per page (GitHub allows at most 100)
+     * @return A mono emitting the requested page together with the total number of matches reported by GitHub
+     */
+    public Mono<GitHubSearchPage> fetchPage(String language, String query, int page, int perPage) {
+        return fetchPage(language, query, page, perPage, 0);
+    }
+
+    private Mono<GitHubSearchPage> fetchPage(String language, String query, int page, int perPage, int attempt) {
+        return Mono.defer(() -> {
+            GitHubTokenPool.Reservation reservation = tokenPool.reserve();
+            GitHubTokenPool.PooledToken token = reservation.token();
+            return Mono.delay(reservation.delay())
+                .then(send(token, language, query, page, perPage))
+                .onErrorResume(RestClientResponseException.class, e -> tokenPool.shouldRetry(token, e, attempt)
+                    ? fetchPage(language, query, page, perPage, attempt + 1)
+                    : Mono.error(e));
+        });
+    }
+
+    private Mono<GitHubSearchPage> send(GitHubTokenPool.PooledToken token, String language, String query, int page,
+                                        int perPage) {
+        if (upstreamLimiter == null) {
+            return execute(token, language, query, page, perPage);
+        }
+        return Mono.defer(() -> {
+            AdaptiveConcurrencyLimiter.Permit permit = upstreamLimiter.acquire();
+            return execute(token, language, query, page, perPage)
+                .doOnSuccess(fetched -> permit.release())
+                .doOnError(e -> GitHubSearchClient.release(permit, e))
+                .doOnCancel(permit::releaseIgnored);
+        });
+    }
+
+    private Mono<GitHubSearchPage> execute(GitHubTokenPool.PooledToken token, String language, String query, int page,
+                                           int perPage) {
+        return Mono.defer(() -> {
+            GitHubPageValidators.ValidatedPage cached = validators.lookup(query, page, perPage);
+            Timer.Sample roundTrip = metrics.start();
+            return webClient.get()
+                .uri(uri -> uri.path(apiPath)
+                    .queryParam("q", "{q}")
+                    .queryParam("sort", "stars")
+                    .queryParam("order", "desc")
+                    .queryParam("per_page", perPage)
+                    .queryParam("page", page)
+                    .build(query))
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(headers -> {
+                    token.authorize(headers);
+                    if (cached != null) {
+                        cached.applyTo(headers);
+                    }
+                })
+                .exchangeToMono(response -> {
+                    HttpHeaders headers = response.headers().asHttpHeaders();
+                    metrics.recordUpstream(roundTrip, language, String.valueOf(response.statusCode().value()));
+                    token.rateLimiter().onResponse(headers);
+                    if (response.statusCode().isError()) {
+                        return response.createError();
+                    }
+                    if (cached != null && response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        validators.store(query, page, perPage, headers, cached.page());
+                        return response.releaseBody().thenReturn(cached.notModified());
+                    }
+                    return DataBufferUtils.join(response.bodyToFlux(DataBuffer.class))
+                        .map(body -> validators.store(query, page, perPage, headers, parse(language, body)));
+                })
+                .doOnError(WebClientRequestException.class,
+                    e -> metrics.recordUpstream(roundTrip, language, ScoringMetrics.IO_ERROR));
+        })
+            .switchIfEmpty(Mono.error(() -> new RepositoryScoringException("Failed to parse GitHub repositories")))
+            .onErrorMap(WebClientException.class, ReactiveGitHubSearchClient::toRestClientException);
+    }
+
+    private GitHubSearchPage parse(String language, DataBuffer body) {
+        Timer.Sample parse = metrics.start();
+        try (InputStream in = body.asInputStream(true)) {
+            return responseParser.parse(in);
+        } catch (IOException e) {
+            throw new RepositoryScoringException("Failed to parse GitHub repositories", e);
+        } finally {
+            metrics.recordParse(parse, language);
+        }
+    }
+
+    private static RestClientException toRestClientException(WebClientException ex) {
+        if (ex instanceof WebClientResponseException response) {
+            return new RestClientResponseException(response.getMessage(), response.getStatusCode(),
+                    response.getStatusText(), response.getHeaders(), response.getResponseBodyAsByteArray(), null);
+        }
+        return new RestClientException(ex.getMessage(), ex);
+    }
+}
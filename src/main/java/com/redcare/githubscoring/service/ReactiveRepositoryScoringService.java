@@ -0,0 +1,52 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.dto.RepositoryScoreResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Non-blocking variant of {@link RepositoryScoringService}, enabled with {@code github.reactive.enabled}.
+ * It shares the repository and score caches of the blocking service, so both return the same results.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "github.reactive.enabled", havingValue = "true")
+public class ReactiveRepositoryScoringService {
+
+    private final GitHubService gitHubService;
+
+    private final RepositoryScoringService scoringService;
+
+    private final RepositoryIndexService repositoryIndex;
+
+    @Qualifier("scoringExecutor")
+    private final Executor scoringExecutor;
+
+    /**
+     * Returns one page of the scored repositories matching the given search, highest score first.
+     * No thread is held while repositories are fetched from GitHub; scoring runs on the bounded scoring executor
+     * rather than on the event loop completing the fetch.
+     * Searches covered by the in-memory index are answered from it right away.
+     *
+     * @param language The repository language
+     * @param createdAfter Only repositories created after this date are scored
+     * @param offset The number of best-ranked repositories to skip
+     * @param limit The maximum number of repositories to return, or {@code null} for all of them
+     * @return A mono emitting the requested page of scored repositories, sorted by score in descending order
+     */
+    public Mono<List<RepositoryScoreResponse>> scoreRepositories(String language, LocalDateTime createdAfter,
+                                                                 int offset, Integer limit) {
+        return Mono.justOrEmpty(repositoryIndex.find(language, createdAfter.toLocalDate()))
+                .switchIfEmpty(Mono.fromFuture(
+                        () -> gitHubService.searchRepositoriesAsync(language, createdAfter.toLocalDate())))
+                .publishOn(Schedulers.fromExecutor(scoringExecutor))
+                .map(repositories -> scoringService.rank(language, createdAfter, repositories, offset, limit));
+    }
+}
@@ -0,0 +1,284 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.model.RepositoryQuery;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Persists the {@code repositories} cache to a compact binary snapshot file, enabled with
+ * {@code github.cache.snapshot.enabled}, so that a restarted node serves warm entries straight away.
+ * The snapshot is written every {@code github.cache.snapshot.interval} and on shutdown, replacing the previous file
+ * atomically. It is read on the first cache miss after startup; its entries are then handed out once each, as
+ * their queries miss the cache, for as long as their hard TTL had not run out. Each entry keeps the time its
+ * repositories were fetched, so that a restored entry keeps its remaining TTLs instead of starting fresh ones.
+ * Repository lists are encoded with {@link RepositoryListCodec}. A snapshot that is truncated, fails its checksum
+ * or was written in another format version is skipped.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "github.cache.snapshot.enabled", havingValue = "true")
+public class RepositoryCacheSnapshot {
+
+    static final int MAGIC = 0x47485243;
+
+    static final int VERSION = 2;
+
+    private final CacheManager cacheManager;
+
+    private final Predicate<List<?>> isComplete;
+
+    private final Path path;
+
+    private final Clock clock;
+
+    /**
+     * Entries of the snapshot read at startup that have not been handed out yet; {@code null} until it is read.
+     */
+    private volatile Map<RepositoryQuery, Entry> restored;
+
+    /**
+     * Guards reading and writing the snapshot file. A lock rather than a monitor, so that virtual threads waiting
+     * for the file are not pinned.
+     */
+    private final ReentrantLock fileLock = new ReentrantLock();
+
+    @Autowired
+    public RepositoryCacheSnapshot(CacheManager cacheManager, ObjectProvider<GitHubService> gitHubService,
+                                   @Value("${github.cache.snapshot.path}") Path path) {
+        this(cacheManager, repositories -> gitHubService.getObject().isComplete(repositories), path,
+                Clock.systemUTC());
+    }
+
+    RepositoryCacheSnapshot(CacheManager cacheManager, Predicate<List<?>> isComplete, Path path, Clock clock) {
+        this.cacheManager = cacheManager;
+        this.isComplete = isComplete;
+        this.path = path;
+        this.clock = clock;
+    }
+
+    /**
+     * Hands out the snapshot entry of the query, if it has one that has not expired. Each entry is handed out once.
+     *
+     * @param query The repository query
+     * @return The restored entry, or empty if the snapshot holds none for the query
+     */
+    public Optional<Entry> take(RepositoryQuery query) {
+        Entry entry = restored().remove(query);
+        return entry != null && entry.isValidAt(clock.instant()) ? Optional.of(entry) : Optional.empty();
+    }
+
+    /**
+     * Writes every loaded entry of the {@code repositories} cache to the snapshot, along with the restored entries
+     * that were not handed out yet, so that an idle node does not lose its snapshot.
+     */
+    @Scheduled(fixedDelayString = "${github.cache.snapshot.interval:PT5M}",
+            initialDelayString = "${github.cache.snapshot.interval:PT5M}")
+    public void write() {
+        fileLock.lock();
+        try {
+            writeSnapshot();
+        } finally {
+            fileLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void writeOnShutdown() {
+        write();
+    }
+
+    private void writeSnapshot() {
+        Instant now = clock.instant();
+        Map<RepositoryQuery, Entry> entries = new HashMap<>();
+        restored().forEach((query, entry) -> {
+            if (entry.isValidAt(now)) {
+                entries.put(query, entry);
+            }
+        });
+        entries.putAll(cachedEntries(now));
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+                write(out, now, entries);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote {} cached repository lists to {}", entries.size(), path);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write the repositories cache snapshot to {}", path, e);
+        }
+    }
+
+    private Map<RepositoryQuery, Entry> cachedEntries(Instant now) {
+        if (!(cacheManager.getCache(GitHubService.REPOSITORIES_CACHE) instanceof CaffeineCache cache)) {
+            return Map.of();
+        }
+        Map<RepositoryQuery, Entry> entries = new HashMap<>();
+        for (Map.Entry<Object, CompletableFuture<Object>> cached : cache.getAsyncCache().asMap().entrySet()) {
+            CompletableFuture<Object> future = cached.getValue();
+            if (cached.getKey() instanceof RepositoryQuery query
+                    && future.isDone()
+                    && !future.isCompletedExceptionally()
+                    && future.join() instanceof List<?> repositories) {
+                Instant writtenAt = cache.getNativeCache().policy().refreshAfterWrite()
+                        .flatMap(refresh -> refresh.ageOf(query))
+                        .map(now::minus)
+                        .orElse(now);
+                Instant expiresAt = cache.getNativeCache().policy().expireVariably()
+                        .flatMap(expiry -> expiry.getExpiresAfter(query))
+                        .map(now::plus)
+                        .orElse(Instant.MAX);
+                entries.put(query, new Entry(repositories.stream().map(GitHubRepository.class::cast).toList(),
+                        isComplete.test(repositories), writtenAt, expiresAt));
+            }
+        }
+        return entries;
+    }
+
+    private Map<RepositoryQuery, Entry> restored() {
+        Map<RepositoryQuery, Entry> entries = restored;
+        if (entries == null) {
+            fileLock.lock();
+            try {
+                entries = restored;
+                if (entries == null) {
+                    entries = new ConcurrentHashMap<>(read());
+                    restored = entries;
+                }
+            } finally {
+                fileLock.unlock();
+            }
+        }
+        return entries;
+    }
+
+    private Map<RepositoryQuery, Entry> read() {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(path);
+        } catch (NoSuchFileException e) {
+            return Map.of();
+        } catch (IOException e) {
+            log.warn("Failed to read the repositories cache snapshot {}", path, e);
+            return Map.of();
+        }
+        try {
+            Map<RepositoryQuery, Entry> entries = read(bytes);
+            log.info("Restored {} cached repository lists from {}", entries.size(), path);
+            return entries;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Skipping unreadable repositories cache snapshot {}: {}", path, e.toString());
+            return Map.of();
+        }
+    }
+
+    static void write(OutputStream target, Instant writtenAt, Map<RepositoryQuery, Entry> entries) throws IOException {
+        CRC32 checksum = new CRC32();
+        DataOutputStream out = new DataOutputStream(new CheckedOutputStream(target, checksum));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(writtenAt.toEpochMilli());
+        out.writeInt(entries.size());
+        for (Map.Entry<RepositoryQuery, Entry> entry : entries.entrySet()) {
+            RepositoryListCodec.writeString(out, entry.getKey().language());
+            out.writeLong(entry.getKey().createdAfter().toEpochDay());
+            out.writeLong(entry.getValue().writtenAt().toEpochMilli());
+            out.writeLong(entry.getValue().expiresAt().equals(Instant.MAX)
+                    ? Long.MAX_VALUE
+                    : entry.getValue().expiresAt().toEpochMilli());
+            out.writeBoolean(entry.getValue().complete());
+            RepositoryListCodec.write(out, entry.getValue().repositories());
+        }
+        out.flush();
+        // The checksum covers everything written before it.
+        new DataOutputStream(target).writeLong(checksum.getValue());
+        target.flush();
+    }
+
+    static Map<RepositoryQuery, Entry> read(byte[] bytes) throws IOException {
+        if (bytes.length < Long.BYTES) {
+            throw new IOException("Snapshot is truncated");
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes, 0, bytes.length - Long.BYTES);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        in.skipNBytes(bytes.length - Long.BYTES);
+        if (in.readLong() != checksum.getValue()) {
+            throw new IOException("Snapshot checksum mismatch");
+        }
+
+        in = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - Long.BYTES));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a repositories cache snapshot");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        in.readLong();
+        int entryCount = RepositoryListCodec.count(in);
+        Map<RepositoryQuery, Entry> entries = new HashMap<>();
+        for (int i = 0; i < entryCount; i++) {
+            RepositoryQuery query = new RepositoryQuery(RepositoryListCodec.readString(in),
+                    LocalDate.ofEpochDay(in.readLong()));
+            Instant writtenAt = Instant.ofEpochMilli(in.readLong());
+            long expiresAt = in.readLong();
+            boolean complete = in.readBoolean();
+            List<GitHubRepository> repositories = RepositoryListCodec.read(in);
+            entries.put(query, new Entry(repositories, complete, writtenAt,
+                    expiresAt == Long.MAX_VALUE ? Instant.MAX : Instant.ofEpochMilli(expiresAt)));
+        }
+        if (in.available() > 0) {
+            throw new IOException("Unexpected data after the last snapshot entry");
+        }
+        return entries;
+    }
+
+    /**
+     * A cached repository list as persisted in the snapshot.
+     *
+     * @param repositories The cached repositories
+     * @param complete Whether the list holds every repository matching its query
+     * @param writtenAt When the repositories were last fetched or confirmed unchanged
+     * @param expiresAt When the cache entry reaches its hard TTL
+     */
+    public record Entry(List<GitHubRepository> repositories, boolean complete, Instant writtenAt, Instant expiresAt) {
+
+        boolean isValidAt(Instant instant) {
+            return instant.isBefore(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.model.LanguageIndex;
+import com.redcare.githubscoring.model.RepositoryQuery;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Keeps an in-memory {@link LanguageIndex} of the repositories of each language listed in
+ * {@code github.index.languages}, so that searches for those languages are answered without calling GitHub.
+ * Every {@code github.index.refresh-interval} the repositories created within the last {@code github.index.window}
+ * are fetched again in the background. A failed refresh keeps the previous index, which is served until it is older
+ * than {@code github.index.max-age}; searches that are not covered fall back to GitHub.
+ * A fetch cut short by GitHub's 1000-result cap or the page limit is not indexed, as the index would silently miss
+ * repositories; enable {@code github.search.sharding.enabled} so that ingestion is not limited by that cap.
+ */
+@Slf4j
+@Service
+public class RepositoryIndexService implements MeterBinder {
+
+    private final GitHubService gitHubService;
+
+    private final List<String> languages;
+
+    private final Duration window;
+
+    private final Duration maxAge;
+
+    private final Clock clock;
+
+    private final Map<String, LanguageIndex> indexes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RepositoryIndexService(GitHubService gitHubService,
+                                  @Value("${github.index.languages:}") List<String> languages,
+                                  @Value("${github.index.window:365d}") Duration window,
+                                  @Value("${github.index.max-age:2h}") Duration maxAge) {
+        this(gitHubService, languages, window, maxAge, Clock.systemUTC());
+    }
+
+    RepositoryIndexService(GitHubService gitHubService, List<String> languages, Duration window, Duration maxAge,
+                           Clock clock) {
+        this.gitHubService = gitHubService;
+        this.languages = languages.stream()
+                .map(String::trim)
+                .filter(language -> !language.isEmpty())
+                .map(RepositoryIndexService::normalize)
+                .distinct()
+                .toList();
+        this.window = window;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    /**
+     * Answers a search from the index.
+     *
+     * @param language The repository language
+     * @param createdAfter Only repositories created after this date are returned
+     * @return The matching repositories, oldest first, or empty if the language is not indexed, the index is
+     *         older than the maximum age or does not reach back to the given date
+     */
+    public Optional<List<GitHubRepository>> find(String language, LocalDate createdAfter) {
+        LanguageIndex index = indexes.get(normalize(language));
+        if (index == null || !isFresh(index) || !index.covers(createdAfter)) {
+            return Optional.empty();
+        }
+        return Optional.of(index.createdAfter(createdAfter));
+    }
+
+    /**
+     * Fetches the repositories of every indexed language and replaces their indexes, one language at a time.
+     * The refresh interval is an ISO-8601 duration such as {@code PT15M}, as required by {@link Scheduled}.
+     */
+    @Scheduled(fixedDelayString = "${github.index.refresh-interval:PT15M}")
+    public void refresh() {
+        languages.forEach(this::refresh);
+    }
+
+    void refresh(String language) {
+        Instant started = clock.instant();
+        LocalDate coversFrom = LocalDate.ofInstant(started, clock.getZone()).minusDays(window.toDays());
+        try {
+            List<GitHubRepository> fetched = gitHubService
+                    .fetchRepositories(new RepositoryQuery(language, coversFrom))
+                    .join();
+            if (!gitHubService.isComplete(fetched)) {
+                log.warn("Not indexing {} {} repositories created after {}: GitHub did not return all of them, "
+                        + "enable github.search.sharding.enabled", fetched.size(), language, coversFrom);
+                return;
+            }
+            List<GitHubRepository> repositories = fetched.stream()
+                    .filter(repo -> repo.getCreatedAt() != null)
+                    .toList();
+            indexes.put(language, LanguageIndex.of(language, coversFrom, started, repositories));
+            log.info("Indexed {} {} repositories created after {}", repositories.size(), language, coversFrom);
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh the {} repository index, keeping the previous one", language, e);
+        }
+    }
+
+    /**
+     * @return The current index of every indexed language that was built at least once, by language
+     */
+    public Map<String, LanguageIndex> indexes() {
+        return Collections.unmodifiableMap(indexes);
+    }
+
+    /**
+     * @return The languages configured for indexing
+     */
+    public List<String> languages() {
+        return languages;
+    }
+
+    public boolean isFresh(LanguageIndex index) {
+        return age(index).compareTo(maxAge) <= 0;
+    }
+
+    public Duration age(LanguageIndex index) {
+        return Duration.between(index.refreshedAt(), clock.instant());
+    }
+
+    /**
+     * Publishes the size and age of the index of every configured language; both are NaN until it is first built.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String language : languages) {
+            Gauge.builder("repository.index.size", this, service -> service.gauge(language, LanguageIndex::size))
+                    .tag("language", language)
+                    .description("Number of repositories in the in-memory index")
+                    .register(registry);
+            Gauge.builder("repository.index.age", this,
+                            service -> service.gauge(language, index -> age(index).toMillis() / 1000.0))
+                    .tag("language", language)
+                    .description("Time since the in-memory index was last refreshed")
+                    .baseUnit("seconds")
+                    .register(registry);
+        }
+    }
+
+    private double gauge(String language, ToDoubleFunction<LanguageIndex> value) {
+        LanguageIndex index = indexes.get(language);
+        return index != null ? value.applyAsDouble(index) : Double.NaN;
+    }
+
+    private static String normalize(String language) {
+        return Objects.requireNonNull(language).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,185 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.model.GitHubRepository;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compact binary form of a list of {@link GitHubRepository repositories}, used by the cache snapshot and the shared
+ * cache. Every repository starts with a bitmask of its non-null fields, followed by those fields only; strings are
+ * length-prefixed UTF-8 and timestamps are UTC epoch seconds with nanoseconds.
+ */
+final class RepositoryListCodec {
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_NAME = 1 << 1;
+    private static final int HAS_FULL_NAME = 1 << 2;
+    private static final int HAS_DESCRIPTION = 1 << 3;
+    private static final int HAS_LANGUAGE = 1 << 4;
+    private static final int HAS_STARS = 1 << 5;
+    private static final int HAS_FORKS = 1 << 6;
+    private static final int HAS_OPEN_ISSUES = 1 << 7;
+    private static final int HAS_CREATED_AT = 1 << 8;
+    private static final int HAS_UPDATED_AT = 1 << 9;
+
+    private RepositoryListCodec() {
+    }
+
+    static byte[] encode(List<GitHubRepository> repositories) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + repositories.size() * 128);
+        try {
+            write(new DataOutputStream(bytes), repositories);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws IOException If the bytes are not a complete encoded repository list
+     */
+    static List<GitHubRepository> decode(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        List<GitHubRepository> repositories = read(in);
+        if (in.available() > 0) {
+            throw new IOException("Unexpected data after the last repository");
+        }
+        return repositories;
+    }
+
+    static void write(DataOutputStream out, List<GitHubRepository> repositories) throws IOException {
+        out.writeInt(repositories.size());
+        for (GitHubRepository repo : repositories) {
+            writeRepository(out, repo);
+        }
+    }
+
+    static List<GitHubRepository> read(DataInputStream in) throws IOException {
+        int count = count(in);
+        List<GitHubRepository> repositories = new ArrayList<>(Math.min(count, 1024));
+        for (int i = 0; i < count; i++) {
+            repositories.add(readRepository(in));
+        }
+        return Collections.unmodifiableList(repositories);
+    }
+
+    private static void writeRepository(DataOutputStream out, GitHubRepository repo) throws IOException {
+        int present = (repo.getId() != null ? HAS_ID : 0)
+                | (repo.getName() != null ? HAS_NAME : 0)
+                | (repo.getFullName() != null ? HAS_FULL_NAME : 0)
+                | (repo.getDescription() != null ? HAS_DESCRIPTION : 0)
+                | (repo.getLanguage() != null ? HAS_LANGUAGE : 0)
+                | (repo.getStargazersCount() != null ? HAS_STARS : 0)
+                | (repo.getForksCount() != null ? HAS_FORKS : 0)
+                | (repo.getOpenIssuesCount() != null ? HAS_OPEN_ISSUES : 0)
+                | (repo.getCreatedAt() != null ? HAS_CREATED_AT : 0)
+                | (repo.getUpdatedAt() != null ? HAS_UPDATED_AT : 0);
+        out.writeShort(present);
+        if (repo.getId() != null) {
+            out.writeLong(repo.getId());
+        }
+        if (repo.getName() != null) {
+            writeString(out, repo.getName());
+        }
+        if (repo.getFullName() != null) {
+            writeString(out, repo.getFullName());
+        }
+        if (repo.getDescription() != null) {
+            writeString(out, repo.getDescription());
+        }
+        if (repo.getLanguage() != null) {
+            writeString(out, repo.getLanguage());
+        }
+        if (repo.getStargazersCount() != null) {
+            out.writeInt(repo.getStargazersCount());
+        }
+        if (repo.getForksCount() != null) {
+            out.writeInt(repo.getForksCount());
+        }
+        if (repo.getOpenIssuesCount() != null) {
+            out.writeInt(repo.getOpenIssuesCount());
+        }
+        if (repo.getCreatedAt() != null) {
+            writeDateTime(out, repo.getCreatedAt());
+        }
+        if (repo.getUpdatedAt() != null) {
+            writeDateTime(out, repo.getUpdatedAt());
+        }
+    }
+
+    private static GitHubRepository readRepository(DataInputStream in) throws IOException {
+        int present = in.readUnsignedShort();
+        GitHubRepository repo = new GitHubRepository();
+        if ((present & HAS_ID) != 0) {
+            repo.setId(in.readLong());
+        }
+        if ((present & HAS_NAME) != 0) {
+            repo.setName(readString(in));
+        }
+        if ((present & HAS_FULL_NAME) != 0) {
+            repo.setFullName(readString(in));
+        }
+        if ((present & HAS_DESCRIPTION) != 0) {
+            repo.setDescription(readString(in));
+        }
+        if ((present & HAS_LANGUAGE) != 0) {
+            repo.setLanguage(readString(in));
+        }
+        if ((present & HAS_STARS) != 0) {
+            repo.setStargazersCount(in.readInt());
+        }
+        if ((present & HAS_FORKS) != 0) {
+            repo.setForksCount(in.readInt());
+        }
+        if ((present & HAS_OPEN_ISSUES) != 0) {
+            repo.setOpenIssuesCount(in.readInt());
+        }
+        if ((present & HAS_CREATED_AT) != 0) {
+            repo.setCreatedAt(readDateTime(in));
+        }
+        if ((present & HAS_UPDATED_AT) != 0) {
+            repo.setUpdatedAt(readDateTime(in));
+        }
+        return repo;
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        return new String(in.readNBytes(count(in)), StandardCharsets.UTF_8);
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    /**
+     * Reads a length or count, rejecting values that cannot fit into the rest of the snapshot.
+     */
+    static int count(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > in.available()) {
+            throw new IOException("Invalid length " + count);
+        }
+        return count;
+    }
+}
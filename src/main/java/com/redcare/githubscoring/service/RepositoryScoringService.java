@@ -1,40 +1,215 @@
 package com.redcare.githubscoring.service;
 
 import com.redcare.githubscoring.dto.RepositoryScoreResponse;
+import com.redcare.githubscoring.exception.RepositoryScoringException;
 import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.model.RepositoryColumns;
+import com.redcare.githubscoring.model.RepositoryQuery;
+import com.redcare.githubscoring.model.ScoringWeights;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RepositoryScoringService {
 
+    public static final String SCORES_CACHE = "scores";
+
+    /**
+     * Marks the end of the pages of a streamed fetch, whether it succeeded or failed.
+     */
+    private static final List<GitHubRepository> END_OF_PAGES = new ArrayList<>();
+
     private final GitHubService gitHubService;
 
     private final WeightedScoringProvider weightedScoringProvider;
 
+    private final CacheManager cacheManager;
+
+    private final ScoringMetrics metrics;
+
+    private final RepositoryIndexService repositoryIndex;
+
+    /**
+     * Scores the repositories matching the given search and sorts them by score, highest first.
+     *
+     * @param language The repository language
+     * @param createdAfter Only repositories created after this date are scored
+     * @return The scored repositories, sorted by score in descending order
+     */
     public List<RepositoryScoreResponse> scoreRepositories(String language, LocalDateTime createdAfter) {
+        return scoreRepositories(language, createdAfter, 0, null);
+    }
+
+    /**
+     * Returns one page of the scored repositories matching the given search, highest score first.
+     * A bounded page is selected with a top-K heap over the cached scores, so ranking cost and the number of
+     * responses built scale with {@code offset + limit} rather than with the size of the result set.
+     * Scores are cached per query, scoring weights and day, as recency scores change with the date.
+     * Cached scores are only reused while they were computed from the very repository list currently cached
+     * for the query, so a refreshed repository list is always scored again.
+     * Searches covered by the {@link RepositoryIndexService in-memory index} are answered from it without
+     * calling GitHub.
+     *
+     * @param language The repository language
+     * @param createdAfter Only repositories created after this date are scored
+     * @param offset The number of best-ranked repositories to skip
+     * @param limit The maximum number of repositories to return, or {@code null} for all of them
+     * @return The requested page of scored repositories, sorted by score in descending order
+     */
+    public List<RepositoryScoreResponse> scoreRepositories(String language, LocalDateTime createdAfter,
+                                                           int offset, Integer limit) {
+
+        LocalDate createdAfterDate = createdAfter.toLocalDate();
+        List<GitHubRepository> repositories = repositoryIndex.find(language, createdAfterDate)
+                .orElseGet(() -> gitHubService.searchRepositories(language, createdAfterDate));
+        return rank(language, createdAfter, repositories, offset, limit);
+    }
+
+    /**
+     * Ranks repositories already fetched for the given search, reusing cached scores where possible.
+     */
+    List<RepositoryScoreResponse> rank(String language, LocalDateTime createdAfter,
+                                       List<GitHubRepository> repositories, int offset, Integer limit) {
+        ScoredRepositories scored = scored(new RepositoryQuery(language, createdAfter.toLocalDate()), repositories);
+        metrics.recordResultSize(language, repositories.size());
+
+        Timer.Sample ranking = metrics.start();
+        List<RepositoryScoreResponse> page = scored.page(offset, limit);
+        metrics.recordRank(ranking, language);
+        return page;
+    }
+
+    /**
+     * Scores repositories already fetched for the query unless their scores of today are cached, so that the
+     * next search for it is answered from the {@code scores} cache.
+     */
+    void warm(RepositoryQuery query, List<GitHubRepository> repositories) {
+        scored(query, repositories);
+    }
+
+    private ScoredRepositories scored(RepositoryQuery query, List<GitHubRepository> repositories) {
+        LocalDate today = LocalDate.now();
+        ScoreCacheKey key = new ScoreCacheKey(query, weightedScoringProvider.getWeights(), today);
+        ScoredRepositories scored = scoresCache().get(key, ScoredRepositories.class);
+        if (scored == null || scored.source() != repositories) {
+            Timer.Sample scoring = metrics.start();
+            scored = new ScoredRepositories(repositories,
+                    weightedScoringProvider.scoreAll(RepositoryColumns.of(repositories), today));
+            metrics.recordScore(scoring, query.language());
+            scoresCache().put(key, scored);
+        }
+        return scored;
+    }
+
+    /**
+     * Scores the repositories matching the given search while they are being fetched.
+     * Each repository is passed to {@code onScored} as soon as its page arrives, with a provisional score
+     * normalized by the largest stars and forks counts seen so far; pages are handled one at a time on the
+     * calling thread. Once all pages have arrived the final ranking is computed as by
+     * {@link #scoreRepositories(String, LocalDateTime, int, Integer)}.
+     * When the repositories are indexed, already cached, or being fetched for another caller, they are reported
+     * all at once.
+     *
+     * @param language The repository language
+     * @param createdAfter Only repositories created after this date are scored
+     * @param offset The number of best-ranked repositories to skip in the final ranking
+     * @param limit The maximum number of repositories in the final ranking, or {@code null} for all of them
+     * @param onScored Receives every repository with its provisional score
+     * @return The requested page of the final ranking, sorted by score in descending order
+     */
+    public List<RepositoryScoreResponse> streamRepositories(String language, LocalDateTime createdAfter,
+                                                            int offset, Integer limit,
+                                                            Consumer<RepositoryScoreResponse> onScored) {
+        List<GitHubRepository> indexed = repositoryIndex.find(language, createdAfter.toLocalDate()).orElse(null);
+        if (indexed != null) {
+            scoreProvisionally(indexed, LocalDate.now(), new RunningMaxima(), onScored);
+            return rank(language, createdAfter, indexed, offset, limit);
+        }
+
+        BlockingQueue<List<GitHubRepository>> pages = new LinkedBlockingQueue<>();
+        CompletableFuture<List<GitHubRepository>> fetch = gitHubService
+                .streamRepositories(language, createdAfter.toLocalDate(), pages::add)
+                .whenComplete((repositories, ex) -> pages.add(END_OF_PAGES));
+
+        LocalDate today = LocalDate.now();
+        RunningMaxima maxima = new RunningMaxima();
+        boolean streamed = false;
+        for (List<GitHubRepository> page = take(pages); page != END_OF_PAGES; page = take(pages)) {
+            scoreProvisionally(page, today, maxima, onScored);
+            streamed = true;
+        }
+
+        List<GitHubRepository> repositories = await(fetch);
+        if (!streamed) {
+            scoreProvisionally(repositories, today, maxima, onScored);
+        }
+        return rank(language, createdAfter, repositories, offset, limit);
+    }
+
+    private void scoreProvisionally(List<GitHubRepository> page, LocalDate today, RunningMaxima maxima,
+                                    Consumer<RepositoryScoreResponse> onScored) {
+        RepositoryColumns columns = RepositoryColumns.of(page);
+        maxima.stars = Math.max(maxima.stars, columns.maxStars());
+        maxima.forks = Math.max(maxima.forks, columns.maxForks());
+        double[] scores = weightedScoringProvider.scoreAll(columns, today, maxima.stars, maxima.forks);
+        for (int i = 0; i < scores.length; i++) {
+            onScored.accept(mapResponse(page.get(i), rounded(scores[i])));
+        }
+    }
 
-        List<GitHubRepository> repositories = gitHubService.searchRepositories(language, createdAfter.toLocalDate());
+    private static List<GitHubRepository> take(BlockingQueue<List<GitHubRepository>> pages) {
+        try {
+            return pages.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryScoringException("Interrupted while waiting for GitHub repositories", e);
+        }
+    }
 
-        final AtomicInteger maxStars = new AtomicInteger(1);
-        final AtomicInteger maxForks = new AtomicInteger(1);
-        for (GitHubRepository repo : repositories) {
-            maxStars.updateAndGet(current -> Math.max(current, repo.getStargazersCount()));
-            maxForks.updateAndGet(current -> Math.max(current, repo.getForksCount()));
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RepositoryScoringException("Failed to fetch GitHub repositories", e.getCause());
         }
+    }
+
+    private static BigDecimal rounded(double score) {
+        return BigDecimal.valueOf(score).setScale(2, RoundingMode.HALF_UP);
+    }
 
-        return repositories.stream()
-                .map(repo -> mapResponse(repo, weightedScoringProvider.score(repo, maxStars.get(), maxForks.get())))
-                .sorted((a, b) -> b.getScore().compareTo(a.getScore()))
-                .collect(Collectors.toList());
+    /**
+     * Weighs an entry of the {@code scores} cache by the number of repositories it scores; every entry weighs at
+     * least one.
+     */
+    public static int scoresWeight(Object key, Object value) {
+        return value instanceof ScoredRepositories scored ? Math.max(1, scored.scores.length) : 1;
+    }
+
+    private Cache scoresCache() {
+        return Objects.requireNonNull(cacheManager.getCache(SCORES_CACHE));
     }
 
     private static RepositoryScoreResponse mapResponse(GitHubRepository repo, BigDecimal score) {
@@ -51,6 +226,61 @@ public class RepositoryScoringService {
                 .build();
     }
 
+    private static final class RunningMaxima {
+        private int stars = 1;
+        private int forks = 1;
+    }
+
+    private record ScoreCacheKey(RepositoryQuery query, ScoringWeights weights, LocalDate day) {
+    }
+
+    /**
+     * Unrounded scores of a repository list, index-aligned with it. The fully sorted response list is only
+     * built the first time a page reaching the end of the ranking is asked for, and then kept with the scores.
+     */
+    private static final class ScoredRepositories {
 
+        private final List<GitHubRepository> source;
+
+        private final double[] scores;
+
+        private volatile List<RepositoryScoreResponse> all;
+
+        private ScoredRepositories(List<GitHubRepository> source, double[] scores) {
+            this.source = source;
+            this.scores = scores;
+        }
+
+        List<GitHubRepository> source() {
+            return source;
+        }
+
+        List<RepositoryScoreResponse> all() {
+            List<RepositoryScoreResponse> result = all;
+            if (result == null) {
+                result = responses(ScoreRanking.sortAll(scores), 0);
+                all = result;
+            }
+            return result;
+        }
+
+        List<RepositoryScoreResponse> page(int offset, Integer limit) {
+            int end = limit == null ? scores.length : (int) Math.min((long) offset + limit, scores.length);
+            if (all == null && end < scores.length) {
+                return responses(ScoreRanking.topK(scores, end), offset);
+            }
+            List<RepositoryScoreResponse> sorted = all();
+            return offset == 0 && end == sorted.size() ? sorted : sorted.subList(Math.min(offset, end), end);
+        }
+
+        private List<RepositoryScoreResponse> responses(int[] ranked, int from) {
+            List<RepositoryScoreResponse> results = new ArrayList<>(Math.max(0, ranked.length - from));
+            for (int i = from; i < ranked.length; i++) {
+                int index = ranked[i];
+                results.add(mapResponse(source.get(index), rounded(scores[index])));
+            }
+            return Collections.unmodifiableList(results);
+        }
+    }
 
-}
\ No newline at end of file
+}
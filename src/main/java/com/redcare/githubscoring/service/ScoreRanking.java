@@ -0,0 +1,88 @@
+package com.redcare.githubscoring.service;
+
+/**
+ * Ranks scored repositories by index without boxing: highest score first, ties in original order.
+ */
+final class ScoreRanking {
+
+    private ScoreRanking() {
+    }
+
+    /**
+     * Selects the {@code k} best-ranked indices with a bounded min-heap, in O(n log k) time and O(k) space.
+     *
+     * @param scores The scores to rank
+     * @param k The number of indices to select
+     * @return The indices of the {@code min(k, scores.length)} best scores, best first
+     */
+    static int[] topK(double[] scores, int k) {
+        int size = Math.min(k, scores.length);
+        if (size <= 0) {
+            return new int[0];
+        }
+
+        // heap[0] is the worst-ranked index kept so far
+        int[] heap = new int[size];
+        int count = 0;
+        for (int i = 0; i < scores.length; i++) {
+            if (count < size) {
+                heap[count] = i;
+                siftUp(heap, count++, scores);
+            } else if (ranksBefore(i, heap[0], scores)) {
+                heap[0] = i;
+                siftDown(heap, 0, size, scores);
+            }
+        }
+
+        int[] ranked = new int[size];
+        for (int last = size - 1; last >= 0; last--) {
+            ranked[last] = heap[0];
+            heap[0] = heap[last];
+            siftDown(heap, 0, last, scores);
+        }
+        return ranked;
+    }
+
+    /**
+     * @return Every index, best first
+     */
+    static int[] sortAll(double[] scores) {
+        return topK(scores, scores.length);
+    }
+
+    private static boolean ranksBefore(int a, int b, double[] scores) {
+        int byScore = Double.compare(scores[a], scores[b]);
+        return byScore > 0 || (byScore == 0 && a < b);
+    }
+
+    private static void siftUp(int[] heap, int position, double[] scores) {
+        int index = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!ranksBefore(heap[parent], index, scores)) {
+                break;
+            }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = index;
+    }
+
+    private static void siftDown(int[] heap, int position, int size, double[] scores) {
+        int index = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && ranksBefore(heap[child], heap[right], scores)) {
+                child = right;
+            }
+            if (!ranksBefore(index, heap[child], scores)) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = index;
+    }
+}
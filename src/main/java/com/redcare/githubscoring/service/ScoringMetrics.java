@@ -0,0 +1,159 @@
+package com.redcare.githubscoring.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Meters for the stages of the scoring pipeline. Every meter is tagged with the searched language;
+ * languages outside {@code scoring.metrics.languages} share the tag {@value #OTHER_LANGUAGE},
+ * so arbitrary client input cannot create an unbounded number of time series.
+ * Timers publish percentile histograms, so latency SLOs can be derived from them.
+ */
+@Component
+public class ScoringMetrics {
+
+    public static final String OTHER_LANGUAGE = "other";
+
+    /**
+     * Round trip of a single GitHub search request, up to the response headers, tagged by response status.
+     */
+    public static final String UPSTREAM_REQUEST = "github.search.request";
+
+    /**
+     * GitHub search responses by status; requests that got no response at all count as {@code IO_ERROR}.
+     */
+    public static final String UPSTREAM_RESPONSES = "github.search.responses";
+
+    /**
+     * Reading and parsing the body of a single GitHub search response.
+     */
+    public static final String UPSTREAM_PARSE = "github.search.parse";
+
+    /**
+     * Fetching all pages and shards of a query and merging them, tagged by outcome.
+     */
+    public static final String FETCH = "github.search.fetch";
+
+    /**
+     * Searches answered by filtering the cached result of a broader search instead of fetching from GitHub.
+     */
+    public static final String SUBSUMED = "github.search.subsumed";
+
+    /**
+     * Hot queries handled by the cache warmer, tagged by outcome.
+     */
+    public static final String WARMUP = "github.cache.warmup";
+
+    /**
+     * Scoring a fetched result set.
+     */
+    public static final String SCORE = "scoring.score";
+
+    /**
+     * Selecting, sorting and mapping the requested page of a scored result set.
+     */
+    public static final String RANK = "scoring.rank";
+
+    /**
+     * Number of repositories in the most recently scored result set.
+     */
+    public static final String RESULT_SIZE = "scoring.result.size";
+
+    public static final String IO_ERROR = "IO_ERROR";
+
+    private final MeterRegistry registry;
+
+    private final Set<String> languages;
+
+    private final Map<String, AtomicInteger> resultSizes = new ConcurrentHashMap<>();
+
+    public ScoringMetrics(MeterRegistry registry,
+                          @Value("${scoring.metrics.languages:java,python,javascript,typescript,go,rust}")
+                          List<String> languages) {
+        this.registry = registry;
+        this.languages = languages.stream()
+                .map(language -> language.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    public void recordUpstream(Timer.Sample sample, String language, String status) {
+        String tag = languageTag(language);
+        sample.stop(timer(UPSTREAM_REQUEST, tag, "status", status));
+        Counter.builder(UPSTREAM_RESPONSES)
+                .tags("language", tag, "status", status)
+                .register(registry)
+                .increment();
+    }
+
+    public void recordParse(Timer.Sample sample, String language) {
+        sample.stop(timer(UPSTREAM_PARSE, languageTag(language)));
+    }
+
+    public void recordFetch(Timer.Sample sample, String language, boolean success) {
+        sample.stop(timer(FETCH, languageTag(language), "outcome", success ? "success" : "failure"));
+    }
+
+    public void recordSubsumed(String language) {
+        Counter.builder(SUBSUMED)
+                .tag("language", languageTag(language))
+                .register(registry)
+                .increment();
+    }
+
+    public void recordWarmup(String language, String outcome) {
+        Counter.builder(WARMUP)
+                .tag("language", languageTag(language))
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    public void recordScore(Timer.Sample sample, String language) {
+        sample.stop(timer(SCORE, languageTag(language)));
+    }
+
+    public void recordRank(Timer.Sample sample, String language) {
+        sample.stop(timer(RANK, languageTag(language)));
+    }
+
+    public void recordResultSize(String language, int size) {
+        resultSizes.computeIfAbsent(languageTag(language), tag -> {
+            AtomicInteger value = new AtomicInteger();
+            Gauge.builder(RESULT_SIZE, value, AtomicInteger::get)
+                    .tag("language", tag)
+                    .register(registry);
+            return value;
+        }).set(size);
+    }
+
+    String languageTag(String language) {
+        if (language == null) {
+            return OTHER_LANGUAGE;
+        }
+        String normalized = language.trim().toLowerCase(Locale.ROOT);
+        return languages.contains(normalized) ? normalized : OTHER_LANGUAGE;
+    }
+
+    private Timer timer(String name, String language, String... tags) {
+        return Timer.builder(name)
+                .tag("language", language)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
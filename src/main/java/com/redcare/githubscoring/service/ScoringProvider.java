@@ -1,7 +1,9 @@
 package com.redcare.githubscoring.service;
 
 import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.model.RepositoryColumns;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 /**
  * Interface for providing scoring functionality.
@@ -11,4 +13,19 @@ import java.math.BigDecimal;
 public interface ScoringProvider {
     BigDecimal score(GitHubRepository repo, double maxStars, double maxForks);
     BigDecimal recencyScore(GitHubRepository repo);
+
+    /**
+     * Scores a whole result set in one pass. Stars and forks are normalized by the maxima of the set
+     * and recency is measured in whole days up to {@code today}.
+     *
+     * @return The unrounded scores, index-aligned with the columns
+     */
+    double[] scoreAll(RepositoryColumns repositories, LocalDate today);
+
+    /**
+     * Scores a result set in one pass, normalizing stars and forks by the given maxima instead of the set's own.
+     *
+     * @return The unrounded scores, index-aligned with the columns
+     */
+    double[] scoreAll(RepositoryColumns repositories, LocalDate today, int maxStars, int maxForks);
 }
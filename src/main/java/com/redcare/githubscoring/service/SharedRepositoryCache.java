@@ -0,0 +1,159 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.config.RepositoriesCacheExpiry;
+import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.model.RepositoryQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Second cache tier under the {@code repositories} cache, shared by all scorer replicas through a
+ * {@link SharedRepositoryStore} and enabled with {@code github.cache.shared.enabled}. Repositories fetched from
+ * GitHub by one replica are stored there, encoded with {@link RepositoryListCodec}, for as long as their hard TTL,
+ * so that other replicas missing their own cache load them from the store instead of fetching them again.
+ * A replica that refreshes an entry and finds it changed publishes an invalidation; the other replicas then drop
+ * the entry from their own cache and load the new repositories from the store on the next miss.
+ * Failures of the store are logged and treated as misses. Enabling the tier requires a {@code SharedRepositoryStore}
+ * bean backed by a store all replicas reach, such as Redis; startup fails without one.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "github.cache.shared.enabled", havingValue = "true")
+public class SharedRepositoryCache {
+
+    /**
+     * Prefix of the store keys. The version changes whenever the encoded form does, so that replicas running
+     * different versions do not read each other's entries.
+     */
+    static final String KEY_PREFIX = "github-scoring:repositories:v1:";
+
+    private final SharedRepositoryStore store;
+
+    private final CacheManager cacheManager;
+
+    private final Function<RepositoryQuery, Duration> ttl;
+
+    /**
+     * Identifies this replica in invalidation messages, so that it ignores its own.
+     */
+    private final String replicaId = UUID.randomUUID().toString();
+
+    @Autowired
+    public SharedRepositoryCache(ObjectProvider<SharedRepositoryStore> store, CacheManager cacheManager,
+                                 RepositoriesCacheExpiry expiry) {
+        this(requireStore(store), cacheManager, expiry::ttl);
+    }
+
+    SharedRepositoryCache(SharedRepositoryStore store, CacheManager cacheManager,
+                          Function<RepositoryQuery, Duration> ttl) {
+        this.store = store;
+        this.cacheManager = cacheManager;
+        this.ttl = ttl;
+        store.subscribe(this::onMessage);
+    }
+
+    private static SharedRepositoryStore requireStore(ObjectProvider<SharedRepositoryStore> store) {
+        SharedRepositoryStore available = store.getIfUnique();
+        if (available == null) {
+            throw new IllegalStateException("github.cache.shared.enabled requires a single SharedRepositoryStore bean "
+                    + "backed by a store shared by all replicas, such as Redis");
+        }
+        return available;
+    }
+
+    /**
+     * @return The repositories stored for the query by any replica, or empty if there are none
+     */
+    public Optional<Entry> get(RepositoryQuery query) {
+        try {
+            return store.get(key(query)).map(SharedRepositoryCache::decode);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read {} from the shared repositories cache: {}", query, e.toString());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the repositories of the query for all replicas, for as long as the query's hard TTL.
+     */
+    public void put(RepositoryQuery query, List<GitHubRepository> repositories, boolean complete) {
+        try {
+            store.put(key(query), encode(repositories, complete), ttl.apply(query));
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} to the shared repositories cache: {}", query, e.toString());
+        }
+    }
+
+    /**
+     * Makes every other replica drop its own cached repositories of the query.
+     */
+    public void invalidateOthers(RepositoryQuery query) {
+        try {
+            store.publish(replicaId + "\n" + query.language() + "\n" + query.createdAfter());
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish the invalidation of {}: {}", query, e.toString());
+        }
+    }
+
+    private void onMessage(String message) {
+        String[] parts = message.split("\n", -1);
+        if (parts.length != 3 || parts[0].equals(replicaId)) {
+            return;
+        }
+        try {
+            RepositoryQuery query = new RepositoryQuery(parts[1], LocalDate.parse(parts[2]));
+            Cache cache = cacheManager.getCache(GitHubService.REPOSITORIES_CACHE);
+            if (cache != null) {
+                cache.evict(query);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed invalidation message: {}", e.toString());
+        }
+    }
+
+    private static String key(RepositoryQuery query) {
+        return KEY_PREFIX + query.language() + ":" + query.createdAfter();
+    }
+
+    private static byte[] encode(List<GitHubRepository> repositories, boolean complete) {
+        byte[] encoded = RepositoryListCodec.encode(repositories);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(encoded.length + 1);
+        bytes.write(complete ? 1 : 0);
+        bytes.writeBytes(encoded);
+        return bytes.toByteArray();
+    }
+
+    private static Entry decode(byte[] bytes) {
+        if (bytes.length == 0) {
+            throw new IllegalArgumentException("Empty shared cache entry");
+        }
+        try {
+            return new Entry(RepositoryListCodec.decode(Arrays.copyOfRange(bytes, 1, bytes.length)), bytes[0] == 1);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed shared cache entry", e);
+        }
+    }
+
+    /**
+     * Repositories stored in the shared cache.
+     *
+     * @param repositories The repositories
+     * @param complete Whether the list holds every repository matching its query
+     */
+    public record Entry(List<GitHubRepository> repositories, boolean complete) {
+    }
+}
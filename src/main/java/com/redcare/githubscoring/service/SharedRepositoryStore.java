@@ -0,0 +1,33 @@
+package com.redcare.githubscoring.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * A key-value store with publish/subscribe messaging shared by all scorer replicas, backing the
+ * {@link SharedRepositoryCache}. Values are opaque bytes, so that an implementation only needs to move them around;
+ * a Redis or Memcached client is a natural fit. Implementations must be thread-safe.
+ */
+public interface SharedRepositoryStore {
+
+    /**
+     * @return The value stored under the key, or empty if there is none or it has expired
+     */
+    Optional<byte[]> get(String key);
+
+    /**
+     * Stores a value, replacing any previous one, for at most the given time.
+     */
+    void put(String key, byte[] value, Duration ttl);
+
+    /**
+     * Sends a message to the subscribers of every replica, including the sending one.
+     */
+    void publish(String message);
+
+    /**
+     * Registers a subscriber for the messages published by any replica.
+     */
+    void subscribe(Consumer<String> subscriber);
+}
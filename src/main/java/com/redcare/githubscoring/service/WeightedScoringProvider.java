@@ -1,12 +1,15 @@
 package com.redcare.githubscoring.service;
 
 import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.model.RepositoryColumns;
+import com.redcare.githubscoring.model.ScoringWeights;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 
@@ -23,6 +26,13 @@ public class WeightedScoringProvider implements ScoringProvider {
     @Value("${scoring.weights.recency:0.3}")
     private double recencyWeight;
 
+    /**
+     * @return The weights currently applied by this provider
+     */
+    public ScoringWeights getWeights() {
+        return new ScoringWeights(starsWeight, forksWeight, recencyWeight);
+    }
+
     /**
      * Calculates a normalized score for a GitHub repository based on stars, forks, and recency.
      * The score is computed using weighted components:
@@ -58,4 +68,44 @@ public class WeightedScoringProvider implements ScoringProvider {
         long daysSinceCreatedAt = ChronoUnit.DAYS.between(repo.getCreatedAt(), LocalDateTime.now()) + 1;
         return BigDecimal.valueOf((double) daysSinceCreatedAt / daysSinceUpdate).setScale(2, RoundingMode.HALF_UP);
     }
+
+    /**
+     * Scores a whole result set using the same components as {@link #score}, without any per-repository
+     * allocation: maxima are found in a first pass over the primitive columns and the clock is read once by
+     * the caller. As in {@link #recencyScore}, the recency ratio is rounded to 2 decimal places before weighting.
+     *
+     * @param repositories The repositories to score
+     * @param today The day recency is measured against
+     * @return The unrounded scores, index-aligned with the columns
+     */
+    public double[] scoreAll(RepositoryColumns repositories, LocalDate today) {
+        return scoreAll(repositories, today, repositories.maxStars(), repositories.maxForks());
+    }
+
+    /**
+     * Scores a result set like {@link #scoreAll(RepositoryColumns, LocalDate)}, but normalizes stars and forks
+     * by the given maxima instead of the set's own, e.g. by running maxima while results are still arriving.
+     *
+     * @param repositories The repositories to score
+     * @param today The day recency is measured against
+     * @param maxStars The stars count normalized to 1, at least 1
+     * @param maxForks The forks count normalized to 1, at least 1
+     * @return The unrounded scores, index-aligned with the columns
+     */
+    public double[] scoreAll(RepositoryColumns repositories, LocalDate today, int maxStars, int maxForks) {
+        int size = repositories.size();
+        double starsFactor = starsWeight / maxStars;
+        double forksFactor = forksWeight / maxForks;
+        long todayEpochDay = today.toEpochDay();
+        double[] scores = new double[size];
+        for (int i = 0; i < size; i++) {
+            long daysSinceUpdate = todayEpochDay - repositories.updatedEpochDay(i) + 1;
+            long daysSinceCreatedAt = todayEpochDay - repositories.createdEpochDay(i) + 1;
+            double recency = Math.round((double) daysSinceCreatedAt / daysSinceUpdate * 100) / 100.0;
+            scores[i] = repositories.stars(i) * starsFactor
+                    + repositories.forks(i) * forksFactor
+                    + recency * recencyWeight;
+        }
+        return scores;
+    }
 }
@@ -0,0 +1,154 @@
+package com.redcare.githubscoring.config;
+
+import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.model.GitHubSearchPage;
+import com.redcare.githubscoring.model.RepositoryQuery;
+import com.redcare.githubscoring.service.GitHubPageValidators;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheConfigTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private volatile CompletableFuture<Object> nextLoad = CompletableFuture.completedFuture("v1");
+
+    private final RepositoriesCacheExpiry expiry = new RepositoriesCacheExpiry(Duration.ofMinutes(60),
+            Duration.ofHours(6), Duration.ofDays(365), Clock.fixed(Instant.parse("2024-06-01T12:00:00Z"), ZoneOffset.UTC));
+
+    private final CaffeineCache cache = new CaffeineCache("repositories",
+            CacheConfig.repositoriesCacheBuilder(Duration.ofMinutes(10), expiry, 100, nanos::get)
+                    .executor(Runnable::run)
+                    .buildAsync((key, executor) -> load()),
+            true);
+
+    @Test
+    void shouldServeStaleEntryWhileReloadingInBackground() {
+        assertThat(get()).isEqualTo("v1");
+
+        CompletableFuture<Object> reload = new CompletableFuture<>();
+        nextLoad = reload;
+        advance(Duration.ofMinutes(11));
+
+        assertThat(get()).isEqualTo("v1");
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(get()).isEqualTo("v1");
+        assertThat(loads.get()).isEqualTo(2);
+
+        reload.complete("v2");
+
+        assertThat(get()).isEqualTo("v2");
+    }
+
+    @Test
+    void shouldKeepStaleEntryWhenReloadFails() {
+        assertThat(get()).isEqualTo("v1");
+
+        nextLoad = CompletableFuture.failedFuture(new IllegalStateException("GitHub unavailable"));
+        advance(Duration.ofMinutes(11));
+
+        assertThat(get()).isEqualTo("v1");
+        assertThat(get()).isEqualTo("v1");
+        assertThat(loads.get()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void shouldRestartTtlWhenReloadKeepsEntry() {
+        assertThat(get()).isEqualTo("v1");
+
+        advance(Duration.ofMinutes(11));
+        assertThat(get()).isEqualTo("v1");
+        assertThat(loads.get()).isEqualTo(2);
+
+        nextLoad = new CompletableFuture<>();
+        advance(Duration.ofMinutes(55));
+
+        assertThat(cache.retrieve("java-2024-01-01", this::load)).isCompletedWithValue("v1");
+    }
+
+    @Test
+    void shouldLoadAgainAfterHardTtl() {
+        assertThat(get()).isEqualTo("v1");
+
+        nextLoad = CompletableFuture.completedFuture("v2");
+        advance(Duration.ofMinutes(61));
+
+        assertThat(get()).isEqualTo("v2");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldKeepHistoricalQueriesLongerThanRecentOnes() {
+        RepositoryQuery historical = new RepositoryQuery("java", LocalDate.of(2020, 1, 1));
+        RepositoryQuery recent = new RepositoryQuery("java", LocalDate.of(2024, 1, 1));
+        cache.retrieve(historical, this::load).join();
+        cache.retrieve(recent, this::load).join();
+
+        advance(Duration.ofMinutes(61));
+
+        assertThat(cache.getAsyncCache().getIfPresent(historical)).isNotNull();
+        assertThat(cache.getAsyncCache().getIfPresent(recent)).isNull();
+        assertThat(expiry.maximumTtl()).isEqualTo(Duration.ofHours(6));
+    }
+
+    @Test
+    void shouldBoundCacheByNumberOfCachedRepositories() {
+        nextLoad = CompletableFuture.completedFuture(Collections.nCopies(60, "repository"));
+        cache.retrieve("java-2024-01-01", this::load).join();
+        cache.retrieve("python-2024-01-01", this::load).join();
+        nextLoad = CompletableFuture.completedFuture(List.of());
+        cache.retrieve("go-2024-01-01", this::load).join();
+        cache.getNativeCache().cleanUp();
+
+        assertThat(cache.getNativeCache().estimatedSize()).isEqualTo(2);
+        assertThat(cache.getNativeCache().policy().eviction().orElseThrow().weightedSize()).hasValue(61);
+    }
+
+    @Test
+    void shouldBoundPagesCacheByNumberOfRepositoriesOnCachedPages() {
+        Cache pages = new CaffeineCache("github-pages",
+                CacheConfig.pagesCacheBuilder(Duration.ofHours(1), 100).executor(Runnable::run).buildAsync(), true);
+        pages.put("java&page=1", validatedPage(60));
+        pages.put("java&page=2", validatedPage(60));
+        pages.put("java&page=3", new GitHubPageValidators.ValidatedPage("\"etag\"", null,
+                new GitHubSearchPage(0, false, List.of())));
+        ((CaffeineCache) pages).getNativeCache().cleanUp();
+
+        assertThat(((CaffeineCache) pages).getNativeCache().estimatedSize()).isEqualTo(2);
+        assertThat(((CaffeineCache) pages).getNativeCache().policy().eviction().orElseThrow().weightedSize())
+                .hasValue(61);
+    }
+
+    private static GitHubPageValidators.ValidatedPage validatedPage(int repositories) {
+        return new GitHubPageValidators.ValidatedPage("\"etag\"", null,
+                new GitHubSearchPage(repositories, false, Collections.nCopies(repositories, new GitHubRepository())));
+    }
+
+    private String get() {
+        return cache.retrieve("java-2024-01-01", this::load).join().toString();
+    }
+
+    private CompletableFuture<Object> load() {
+        loads.incrementAndGet();
+        return nextLoad;
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,103 @@
+package com.redcare.githubscoring.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExecutorConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withPropertyValues("github.search.concurrency=3")
+            .withUserConfiguration(ExecutorConfig.class);
+
+    @Test
+    void shouldUsePlatformThreadPoolsByDefault() {
+        contextRunner.run(context -> {
+            ThreadPoolTaskExecutor executor = context.getBean("githubSearchExecutor", ThreadPoolTaskExecutor.class);
+
+            assertThat(executor.getMaxPoolSize()).isEqualTo(3);
+            assertThat(executor.submit(() -> Thread.currentThread().isVirtual()).get()).isFalse();
+        });
+    }
+
+    @Test
+    void shouldRejectStreamsBeyondQueueCapacity() {
+        assertStreamsBeyondQueueCapacityAreRejected(contextRunner);
+    }
+
+    @Test
+    void shouldRejectStreamsBeyondQueueCapacityOnVirtualThreads() {
+        assertStreamsBeyondQueueCapacityAreRejected(
+                contextRunner.withPropertyValues("spring.threads.virtual.enabled=true"));
+    }
+
+    @Test
+    void shouldRunBoundedFanOutOnVirtualThreads() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            AsyncTaskExecutor executor = context.getBean("githubSearchExecutor", AsyncTaskExecutor.class);
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            AtomicInteger platformThreads = new AtomicInteger();
+            Runnable task = () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                if (!Thread.currentThread().isVirtual()) {
+                    platformThreads.incrementAndGet();
+                }
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+            };
+
+            List<CompletableFuture<Void>> fanOut = IntStream.range(0, 30)
+                    .mapToObj(i -> CompletableFuture.runAsync(task, executor)
+                            .thenCompose(done -> CompletableFuture.runAsync(task, executor)))
+                    .toList();
+
+            CompletableFuture.allOf(fanOut.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+            assertThat(maxRunning.get()).isEqualTo(3);
+            assertThat(platformThreads.get()).isZero();
+        });
+    }
+
+    private static void assertStreamsBeyondQueueCapacityAreRejected(ApplicationContextRunner runner) {
+        runner.withPropertyValues("scoring.stream.concurrency=1", "scoring.stream.queue-capacity=1").run(context -> {
+            AsyncTaskExecutor executor = context.getBean("streamingExecutor", AsyncTaskExecutor.class);
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch started = new CountDownLatch(1);
+            executor.execute(() -> {
+                started.countDown();
+                awaitUninterruptibly(release);
+            });
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<?> queued = executor.submit(() -> { });
+
+            assertThatThrownBy(() -> executor.execute(() -> { })).isInstanceOf(TaskRejectedException.class);
+
+            release.countDown();
+            queued.get(5, TimeUnit.SECONDS);
+        });
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
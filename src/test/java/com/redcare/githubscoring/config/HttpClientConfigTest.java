@@ -0,0 +1,89 @@
+package com.redcare.githubscoring.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpClientConfigTest {
+
+    private static final String BODY = "{\"total_count\":0,\"items\":[]}";
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withPropertyValues("github.http.max-total=7", "github.http.max-per-route=3")
+            .withUserConfiguration(HttpClientConfig.class);
+
+    private final AtomicReference<String> acceptEncoding = new AtomicReference<>();
+
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            acceptEncoding.set(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            byte[] compressed = gzip(BODY);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, compressed.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(compressed);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldRequestAndTransparentlyDecompressGzipResponses() {
+        contextRunner.run(context -> {
+            RestTemplate restTemplate = new RestTemplate(context.getBean(ClientHttpRequestFactory.class));
+
+            String body = restTemplate.getForObject("http://localhost:" + server.getAddress().getPort() + "/search",
+                    String.class);
+
+            assertThat(body).isEqualTo(BODY);
+            assertThat(acceptEncoding.get()).contains("gzip");
+        });
+    }
+
+    @Test
+    void shouldPublishConnectionPoolMetrics() {
+        contextRunner.run(context -> {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            context.getBean("githubConnectionPoolMetrics", MeterBinder.class).bindTo(registry);
+
+            assertThat(registry.get("httpcomponents.httpclient.pool.total.max").tag("httpclient", "github")
+                    .gauge().value()).isEqualTo(7.0);
+        });
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
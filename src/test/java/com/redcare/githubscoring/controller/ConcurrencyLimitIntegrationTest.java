@@ -0,0 +1,93 @@
+package com.redcare.githubscoring.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redcare.githubscoring.config.ConcurrencyLimitConfig;
+import com.redcare.githubscoring.config.ExecutorConfig;
+import com.redcare.githubscoring.dto.RepositorySearchRequest;
+import com.redcare.githubscoring.service.AdaptiveConcurrencyLimiter;
+import com.redcare.githubscoring.service.BatchScoringService;
+import com.redcare.githubscoring.service.GitHubService;
+import com.redcare.githubscoring.service.RepositoryIndexService;
+import com.redcare.githubscoring.service.RepositoryScoringService;
+import com.redcare.githubscoring.service.ScoringMetrics;
+import com.redcare.githubscoring.service.WeightedScoringProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ScoringController.class, properties = {
+        "scoring.concurrency-limit.enabled=true",
+        "scoring.concurrency-limit.requests.initial-limit=1",
+        "scoring.concurrency-limit.requests.min-limit=1",
+        "scoring.concurrency-limit.requests.max-limit=1",
+        "scoring.concurrency-limit.retry-after=3s"
+})
+@Import({ConcurrencyLimitConfig.class, RepositoryScoringService.class, RepositoryIndexService.class,
+        BatchScoringService.class, ExecutorConfig.class, ScoringMetrics.class, SimpleMeterRegistry.class,
+        WeightedScoringProvider.class, ConcurrentMapCacheManager.class})
+class ConcurrencyLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("requestConcurrencyLimiter")
+    private AdaptiveConcurrencyLimiter requestLimiter;
+
+    @MockBean
+    private GitHubService gitHubService;
+
+    @Test
+    void shouldShedScoringRequestsWithRetryAfterWhileLimitIsSaturated() throws Exception {
+        AdaptiveConcurrencyLimiter.Permit held = requestLimiter.acquire();
+        try {
+            mockMvc.perform(post("/score")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    new RepositorySearchRequest("java", LocalDate.now().minusDays(30)))))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "3"))
+                    .andExpect(jsonPath("$.error", is("Service Overloaded")));
+        } finally {
+            held.releaseIgnored();
+        }
+
+        verifyNoInteractions(gitHubService);
+        assertThat(requestLimiter.rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAdmitScoringRequestsOnceLimitHasRoom() throws Exception {
+        when(gitHubService.searchRepositories(any(), any())).thenReturn(List.of());
+
+        mockMvc.perform(post("/score")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new RepositorySearchRequest("java", LocalDate.now().minusDays(30)))))
+                .andExpect(status().isOk());
+
+        assertThat(requestLimiter.inFlight()).isZero();
+    }
+}
@@ -0,0 +1,43 @@
+package com.redcare.githubscoring.controller;
+
+import com.redcare.githubscoring.service.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("requests", 1, 1, 4,
+            Duration.ofSeconds(10), Duration.ofSeconds(1));
+
+    private final ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(limiter);
+
+    @Test
+    void shouldRaiseLimitAfterFastSuccessfulResponses() {
+        handle(HttpStatus.OK);
+
+        assertThat(limiter.limit()).isEqualTo(2);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void shouldNotRaiseLimitAfterServiceUnavailableResponses() {
+        handle(HttpStatus.SERVICE_UNAVAILABLE);
+        handle(HttpStatus.SERVICE_UNAVAILABLE);
+
+        assertThat(limiter.limit()).isEqualTo(1);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    private void handle(HttpStatus status) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+        response.setStatus(status.value());
+        interceptor.afterCompletion(request, response, new Object(), null);
+    }
+}
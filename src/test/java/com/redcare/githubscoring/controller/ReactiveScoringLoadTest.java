@@ -0,0 +1,131 @@
+package com.redcare.githubscoring.controller;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the reactive endpoint against a slow local GitHub stub with far more concurrent requests
+ * than there are request or search threads, and checks that they all reach GitHub at the same time.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "github.reactive.enabled=true",
+        "github.search.max-pages=1",
+        "github.search.concurrency=2",
+        "github.rate-limit.requests-per-minute=60000",
+        "github.rate-limit.burst=1000",
+        "server.tomcat.threads.max=4",
+        "server.tomcat.threads.min-spare=1"
+})
+class ReactiveScoringLoadTest {
+
+    private static final int CLIENTS = 64;
+
+    private static final AtomicInteger inFlight = new AtomicInteger();
+
+    private static final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private static final ExecutorService stubExecutor = Executors.newCachedThreadPool();
+
+    private static final HttpServer stub = startStub();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void githubProperties(DynamicPropertyRegistry registry) {
+        registry.add("github.api.base-url", () -> "http://localhost:" + stub.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Test
+    void shouldServeConcurrentRequestsFarBeyondThreadPoolSize() {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        List<CompletableFuture<HttpResponse<String>>> responses = IntStream.range(0, CLIENTS)
+                .mapToObj(i -> client.sendAsync(scoreRequest("lang" + i), HttpResponse.BodyHandlers.ofString()))
+                .toList();
+
+        assertThat(responses).allSatisfy(response -> {
+            assertThat(response.join().statusCode()).isEqualTo(200);
+            assertThat(response.join().body()).contains("\"full_name\":\"owner/repo\"");
+        });
+        assertThat(maxInFlight.get()).isGreaterThanOrEqualTo(CLIENTS / 2);
+    }
+
+    @Test
+    void shouldMapGitHubFailuresLikeTheBlockingEndpoint() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+
+        HttpResponse<String> response = client.send(scoreRequest("forbidden"), HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(503);
+        assertThat(response.body()).contains("GitHub API Error");
+    }
+
+    private HttpRequest scoreRequest(String language) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/reactive/score"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"language\":\"" + language + "\",\"created_after\":\"2024-01-01\"}"))
+                .build();
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 256);
+            server.setExecutor(stubExecutor);
+            server.createContext("/", exchange -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(500);
+                    boolean forbidden = exchange.getRequestURI().getQuery().contains("forbidden");
+                    byte[] body = (forbidden ? "{\"message\":\"rate limited\"}" : """
+                            {"total_count":1,"incomplete_results":false,"items":[{"id":1,"name":"repo",
+                             "full_name":"owner/repo","language":"Java","stargazers_count":10,"forks_count":1,
+                             "created_at":"2024-02-01T10:00:00Z","updated_at":"2024-03-01T10:00:00Z"}]}""")
+                            .getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().add("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(forbidden ? 403 : 200, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                    exchange.close();
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
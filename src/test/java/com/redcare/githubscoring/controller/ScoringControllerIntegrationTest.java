@@ -1,31 +1,46 @@
 package com.redcare.githubscoring.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redcare.githubscoring.config.ExecutorConfig;
+import com.redcare.githubscoring.dto.BatchScoreRequest;
 import com.redcare.githubscoring.dto.RepositorySearchRequest;
+import com.redcare.githubscoring.exception.GitHubRateLimitException;
 import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.service.BatchScoringService;
 import com.redcare.githubscoring.service.GitHubService;
+import com.redcare.githubscoring.service.RepositoryIndexService;
 import com.redcare.githubscoring.service.RepositoryScoringService;
+import com.redcare.githubscoring.service.ScoringMetrics;
 import com.redcare.githubscoring.service.WeightedScoringProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.client.RestClientException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ScoringController.class)
-@Import({RepositoryScoringService.class, WeightedScoringProvider.class})
+@Import({RepositoryScoringService.class, RepositoryIndexService.class, BatchScoringService.class, ExecutorConfig.class,
+        ScoringMetrics.class, SimpleMeterRegistry.class, WeightedScoringProvider.class, ConcurrentMapCacheManager.class})
 class ScoringControllerIntegrationTest {
 
     @Autowired
@@ -86,6 +101,137 @@ class ScoringControllerIntegrationTest {
                 .andExpect(jsonPath("$.error", is("GitHub API Error")));
     }
 
+    @Test
+    void shouldAskClientsToRetryLaterWhenRateLimited() throws Exception {
+        when(gitHubService.searchRepositories(any(), any()))
+                .thenThrow(new GitHubRateLimitException("GitHub search rate limit exhausted", Duration.ofSeconds(42)));
+
+        RepositorySearchRequest request = new RepositorySearchRequest("java", LocalDate.now().minusDays(30));
+
+        mockMvc.perform(post("/score")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "43"))
+                .andExpect(jsonPath("$.error", is("GitHub Rate Limit Exceeded")));
+    }
+
+    @Test
+    void shouldReturnRequestedPage() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        GitHubRepository repo1 = createRepository("owner1/repo1", 100, 50, now.minusDays(10), now.minusDays(5));
+        GitHubRepository repo2 = createRepository("owner2/repo2", 200, 100, now.minusDays(20), now.minusDays(2));
+
+        when(gitHubService.searchRepositories(any(), any()))
+                .thenReturn(Arrays.asList(repo1, repo2));
+
+        RepositorySearchRequest request = new RepositorySearchRequest("java", LocalDate.now().minusDays(30), 1, 1);
+
+        mockMvc.perform(post("/score")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].fullName", is("owner1/repo1")));
+    }
+
+    @Test
+    void shouldReturnBadRequestForInvalidLimit() throws Exception {
+        RepositorySearchRequest request = new RepositorySearchRequest("java", LocalDate.now().minusDays(30), -1, 0);
+
+        mockMvc.perform(post("/score")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors", hasSize(2)));
+    }
+
+    @Test
+    void shouldScoreBatchWithPerQueryResults() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        GitHubRepository repo = createRepository("owner1/repo1", 100, 50, now.minusDays(10), now.minusDays(5));
+
+        when(gitHubService.searchRepositories(eq("java"), any())).thenReturn(List.of(repo));
+        when(gitHubService.searchRepositories(eq("go"), any())).thenThrow(new RestClientException("API Error"));
+
+        BatchScoreRequest request = new BatchScoreRequest(List.of(
+                new RepositorySearchRequest("java", LocalDate.now().minusDays(30)),
+                new RepositorySearchRequest("go", LocalDate.now().minusDays(30))));
+
+        mockMvc.perform(post("/score/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[0].query.language", is("java")))
+                .andExpect(jsonPath("$[0].repositories[0].fullName", is("owner1/repo1")))
+                .andExpect(jsonPath("$[1].status", is(503)))
+                .andExpect(jsonPath("$[1].error", is("GitHub API Error")))
+                .andExpect(jsonPath("$[1].repositories").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnBadRequestForInvalidBatchQuery() throws Exception {
+        BatchScoreRequest request = new BatchScoreRequest(List.of(
+                new RepositorySearchRequest("java", LocalDate.now().minusDays(30)),
+                new RepositorySearchRequest("", LocalDate.now().minusDays(30))));
+
+        mockMvc.perform(post("/score/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].field", is("queries[1].language")));
+    }
+
+    @Test
+    void shouldStreamScoresAsNdjson() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        GitHubRepository repo1 = createRepository("owner1/repo1", 100, 50, now.minusDays(10), now.minusDays(5));
+        GitHubRepository repo2 = createRepository("owner2/repo2", 200, 100, now.minusDays(20), now.minusDays(2));
+
+        when(gitHubService.streamRepositories(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(repo1, repo2)));
+
+        RepositorySearchRequest request = new RepositorySearchRequest("java", LocalDate.now().minusDays(30));
+
+        MvcResult result = mockMvc.perform(post("/score")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5000);
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readTree(lines[0]).get("event").asText()).isEqualTo("repository");
+        assertThat(objectMapper.readTree(lines[0]).get("repository").get("fullName").asText()).isEqualTo("owner1/repo1");
+        assertThat(objectMapper.readTree(lines[2]).get("event").asText()).isEqualTo("summary");
+        assertThat(objectMapper.readTree(lines[2]).get("ranking").get(0).get("fullName").asText())
+                .isEqualTo("owner2/repo2");
+    }
+
+    @Test
+    void shouldEndEventStreamWithErrorEvent() throws Exception {
+        when(gitHubService.streamRepositories(any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RestClientException("API Error")));
+
+        RepositorySearchRequest request = new RepositorySearchRequest("java", LocalDate.now().minusDays(30));
+
+        MvcResult result = mockMvc.perform(post("/score")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5000);
+
+        assertThat(result.getResponse().getContentAsString())
+                .startsWith("event:error")
+                .contains("\"status\":503", "GitHub API Error");
+    }
+
     private GitHubRepository createRepository(String fullName, int stars, int forks,
                                               LocalDateTime createdAt, LocalDateTime updatedAt) {
         GitHubRepository repo = new GitHubRepository();
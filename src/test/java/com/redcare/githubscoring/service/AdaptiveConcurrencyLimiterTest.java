@@ -0,0 +1,97 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("requests", 4, 2, 6,
+            Duration.ofSeconds(1), Duration.ofSeconds(3), nanoTime::get);
+
+    @Test
+    void shouldRejectCallsBeyondTheLimit() {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(4);
+
+        assertThatThrownBy(limiter::acquire)
+                .isInstanceOfSatisfying(ServiceOverloadedException.class,
+                        ex -> assertThat(ex.getRetryAfter()).isEqualTo(Duration.ofSeconds(3)));
+        assertThat(limiter.rejected()).isEqualTo(1);
+
+        permits.get(0).releaseIgnored();
+        assertThat(limiter.acquire()).isNotNull();
+        assertThat(limiter.inFlight()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldRaiseLimitOnFastCallsUpToTheMaximum() {
+        for (int round = 0; round < 5; round++) {
+            acquire(limiter.limit()).forEach(AdaptiveConcurrencyLimiter.Permit::release);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(6);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void shouldNotRaiseLimitWhileMostOfItIsUnused() {
+        limiter.acquire().release();
+
+        assertThat(limiter.limit()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldLowerLimitOnSlowOrDroppedCallsDownToTheMinimum() {
+        AdaptiveConcurrencyLimiter.Permit slow = limiter.acquire();
+        nanoTime.addAndGet(Duration.ofSeconds(2).toNanos());
+        slow.release();
+        assertThat(limiter.limit()).isEqualTo(3);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire().releaseDropped();
+        }
+        assertThat(limiter.limit()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReleaseEachPermitOnce() {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+        acquire(1);
+
+        permit.releaseDropped();
+        permit.releaseDropped();
+
+        assertThat(limiter.inFlight()).isEqualTo(1);
+        assertThat(limiter.limit()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldPublishLimiterState() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limiter.bindTo(registry);
+        acquire(4);
+        assertThatThrownBy(limiter::acquire).isInstanceOf(ServiceOverloadedException.class);
+
+        assertThat(registry.get("concurrency.limit").tag("limiter", "requests").gauge().value()).isEqualTo(4);
+        assertThat(registry.get("concurrency.in-flight").tag("limiter", "requests").gauge().value()).isEqualTo(4);
+        assertThat(registry.get("concurrency.rejected").tag("limiter", "requests").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    private List<AdaptiveConcurrencyLimiter.Permit> acquire(int count) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            permits.add(limiter.acquire());
+        }
+        return permits;
+    }
+}
@@ -0,0 +1,97 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.dto.BatchScoreResult;
+import com.redcare.githubscoring.dto.RepositoryScoreResponse;
+import com.redcare.githubscoring.dto.RepositorySearchRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BatchScoringServiceTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @Mock
+    private RepositoryScoringService scoringService;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldScoreEachDistinctQueryOnceAndKeepRequestOrder() {
+        RepositoryScoreResponse javaRepo = RepositoryScoreResponse.builder().fullName("owner/java").build();
+        RepositoryScoreResponse goRepo = RepositoryScoreResponse.builder().fullName("owner/go").build();
+        when(scoringService.scoreRepositories(eq("java"), any(), anyInt(), any())).thenReturn(List.of(javaRepo));
+        when(scoringService.scoreRepositories(eq("go"), any(), anyInt(), any())).thenReturn(List.of(goRepo));
+
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        List<BatchScoreResult> results = new BatchScoringService(scoringService, executor).scoreAll(List.of(
+                new RepositorySearchRequest("java", date),
+                new RepositorySearchRequest("go", date),
+                new RepositorySearchRequest("java", date)));
+
+        assertThat(results).extracting(BatchScoreResult::getStatus).containsOnly(200);
+        assertThat(results).extracting(result -> result.getRepositories().get(0).getFullName())
+                .containsExactly("owner/java", "owner/go", "owner/java");
+        verify(scoringService, times(1)).scoreRepositories(eq("java"), eq(date.atStartOfDay()), eq(0), any());
+    }
+
+    @Test
+    void shouldIsolateFailingQueries() {
+        when(scoringService.scoreRepositories(eq("java"), any(), anyInt(), any()))
+                .thenThrow(new ResourceAccessException("timeout"));
+        when(scoringService.scoreRepositories(eq("go"), any(), anyInt(), any())).thenReturn(List.of());
+        when(scoringService.scoreRepositories(eq("rust"), any(), anyInt(), any()))
+                .thenThrow(new IllegalStateException("boom"));
+
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        List<BatchScoreResult> results = new BatchScoringService(scoringService, executor).scoreAll(List.of(
+                new RepositorySearchRequest("java", date),
+                new RepositorySearchRequest("go", date),
+                new RepositorySearchRequest("rust", date)));
+
+        assertThat(results.get(0).getStatus()).isEqualTo(503);
+        assertThat(results.get(0).getError()).isEqualTo("GitHub API Error");
+        assertThat(results.get(0).getRepositories()).isNull();
+        assertThat(results.get(1).getStatus()).isEqualTo(200);
+        assertThat(results.get(1).getRepositories()).isEmpty();
+        assertThat(results.get(2).getStatus()).isEqualTo(500);
+        assertThat(results.get(2).getMessage()).isEqualTo("An unexpected error occurred");
+    }
+
+    @Test
+    void shouldScoreQueriesInParallel() {
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        when(scoringService.scoreRepositories(any(), any(LocalDateTime.class), anyInt(), any())).thenAnswer(invocation -> {
+            bothRunning.countDown();
+            return bothRunning.await(5, TimeUnit.SECONDS) ? List.of() : null;
+        });
+
+        List<BatchScoreResult> results = new BatchScoringService(scoringService, executor).scoreAll(List.of(
+                new RepositorySearchRequest("java", LocalDate.of(2024, 1, 1)),
+                new RepositorySearchRequest("go", LocalDate.of(2024, 1, 1))));
+
+        assertThat(results).allSatisfy(result -> assertThat(result.getRepositories()).isEmpty());
+    }
+}
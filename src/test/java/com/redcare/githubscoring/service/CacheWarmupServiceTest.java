@@ -0,0 +1,111 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.model.RepositoryQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.RestClientException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheWarmupServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T12:00:00Z");
+
+    private static final Duration INTERVAL = Duration.ofMinutes(1);
+
+    private static final RepositoryQuery JAVA = new RepositoryQuery("java", LocalDate.of(2024, 1, 1));
+
+    private static final RepositoryQuery GO = new RepositoryQuery("go", LocalDate.of(2024, 3, 1));
+
+    private final GitHubService gitHubService = mock(GitHubService.class);
+
+    private final RepositoryScoringService scoringService = mock(RepositoryScoringService.class);
+
+    private final RepositoryIndexService repositoryIndex = mock(RepositoryIndexService.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final GitHubTokenPool tokenPool = new GitHubTokenPool(List.of("token"), () -> new GitHubRateLimiter(
+            60, 1, Duration.ofSeconds(30), 0, Duration.ZERO, Clock.fixed(NOW, ZoneOffset.UTC)));
+
+    @Test
+    void shouldLoadAndScoreHotQueries() {
+        List<GitHubRepository> repositories = List.of(new GitHubRepository());
+        when(repositoryIndex.find(any(), any())).thenReturn(Optional.empty());
+        when(gitHubService.needsWarming(JAVA, INTERVAL)).thenReturn(true);
+        when(gitHubService.warmRepositories(JAVA, INTERVAL)).thenReturn(CompletableFuture.completedFuture(repositories));
+
+        warmupService(List.of("java:2024-01-01")).warm();
+
+        verify(scoringService).warm(JAVA, repositories);
+        assertThat(warmups("loaded")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSkipQueriesAnsweredByTheIndex() {
+        when(repositoryIndex.find("java", JAVA.createdAfter())).thenReturn(Optional.of(List.of()));
+
+        warmupService(List.of("java:2024-01-01")).warm();
+
+        verify(gitHubService, never()).warmRepositories(any(), any());
+        assertThat(warmups("indexed")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDeferQueriesBeyondTheRateLimit() {
+        when(repositoryIndex.find(any(), any())).thenReturn(Optional.empty());
+        when(gitHubService.needsWarming(any(), any())).thenReturn(true);
+        when(gitHubService.warmRepositories(any(), any())).thenReturn(CompletableFuture.completedFuture(List.of()));
+        HttpHeaders exhausted = new HttpHeaders();
+        exhausted.set("X-RateLimit-Remaining", "0");
+        exhausted.set("X-RateLimit-Reset", String.valueOf(NOW.plusSeconds(60).getEpochSecond()));
+        tokenPool.tokens().get(0).rateLimiter().onResponse(exhausted);
+
+        warmupService(List.of("java:2024-01-01", "go:2024-03-01")).warm();
+
+        verify(gitHubService, never()).warmRepositories(any(), any());
+        assertThat(warmups("deferred")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldKeepWarmingAfterAFailure() {
+        when(repositoryIndex.find(any(), any())).thenReturn(Optional.empty());
+        when(gitHubService.warmRepositories(JAVA, INTERVAL))
+                .thenReturn(CompletableFuture.failedFuture(new RestClientException("API Error")));
+        when(gitHubService.warmRepositories(GO, INTERVAL)).thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        warmupService(List.of("java:2024-01-01", "go:2024-03-01")).warm();
+
+        verify(scoringService).warm(GO, List.of());
+        assertThat(warmups("failed")).isEqualTo(1);
+        assertThat(warmups("cached")).isEqualTo(1);
+    }
+
+    private CacheWarmupService warmupService(List<String> queries) {
+        HotQueryTracker tracker = new HotQueryTracker(queries, 20, 3, Duration.ofHours(1),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        return new CacheWarmupService(tracker, gitHubService, scoringService, repositoryIndex, tokenPool,
+                new ScoringMetrics(meterRegistry, List.of("java", "go")), INTERVAL, Duration.ofSeconds(5));
+    }
+
+    private double warmups(String outcome) {
+        return meterRegistry.get(ScoringMetrics.WARMUP).tag("outcome", outcome).counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+}
@@ -0,0 +1,142 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.exception.GitHubRateLimitException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientResponseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GitHubRateLimiterTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-06-01T12:00:00Z"));
+
+    private final GitHubRateLimiter rateLimiter =
+            new GitHubRateLimiter(30, 3, Duration.ofSeconds(10), 2, Duration.ofSeconds(1), clock);
+
+    @Test
+    void shouldAllowBurstThenPaceRequests() {
+        assertThat(rateLimiter.reserve()).isZero();
+        assertThat(rateLimiter.reserve()).isZero();
+        assertThat(rateLimiter.reserve()).isZero();
+        assertThat(rateLimiter.reserve()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(rateLimiter.reserve()).isEqualTo(Duration.ofSeconds(4));
+
+        clock.advance(Duration.ofSeconds(4));
+        assertThat(rateLimiter.reserve()).isEqualTo(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void shouldRejectReservationsBeyondMaxWaitWithoutConsumingThem() {
+        for (int i = 0; i < 8; i++) {
+            rateLimiter.reserve();
+        }
+
+        assertThatThrownBy(rateLimiter::reserve)
+                .isInstanceOfSatisfying(GitHubRateLimitException.class,
+                        ex -> assertThat(ex.getRetryAfter()).isEqualTo(Duration.ofSeconds(12)));
+
+        clock.advance(Duration.ofSeconds(2));
+        assertThat(rateLimiter.reserve()).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void shouldSpreadRemainingQuotaUntilReset() {
+        rateLimiter.onResponse(quota(2, clock.instant().plusSeconds(16)));
+
+        assertThat(rateLimiter.reserve()).isZero();
+        assertThat(rateLimiter.reserve()).isZero();
+        assertThat(rateLimiter.reserve()).isEqualTo(Duration.ofSeconds(8));
+    }
+
+    @Test
+    void shouldPauseUntilResetWhenQuotaIsExhausted() {
+        rateLimiter.onResponse(quota(0, clock.instant().plusSeconds(5)));
+
+        assertThat(rateLimiter.reserve()).isEqualTo(Duration.ofSeconds(5));
+
+        clock.advance(Duration.ofSeconds(6));
+        assertThat(rateLimiter.reserve()).isZero();
+    }
+
+    @Test
+    void shouldRetrySecondaryRateLimitAfterRetryAfter() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "3");
+
+        assertThat(rateLimiter.shouldRetry(error(HttpStatus.FORBIDDEN, headers), 0)).isTrue();
+        assertThat(rateLimiter.reserve()).isEqualTo(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void shouldBackOffExponentiallyWithoutRetryAfter() {
+        assertThat(rateLimiter.shouldRetry(error(HttpStatus.TOO_MANY_REQUESTS, new HttpHeaders()), 1)).isTrue();
+        assertThat(rateLimiter.reserve()).isEqualTo(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void shouldNotRetryOtherFailures() {
+        assertThat(rateLimiter.shouldRetry(error(HttpStatus.FORBIDDEN, new HttpHeaders()), 0)).isFalse();
+        assertThat(rateLimiter.shouldRetry(error(HttpStatus.BAD_GATEWAY, new HttpHeaders()), 0)).isFalse();
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxRetries() {
+        assertThatThrownBy(() -> rateLimiter.shouldRetry(error(HttpStatus.TOO_MANY_REQUESTS, new HttpHeaders()), 2))
+                .isInstanceOf(GitHubRateLimitException.class);
+    }
+
+    @Test
+    void shouldRejectRateBelowOneRequestPerMinute() {
+        assertThatThrownBy(() -> new GitHubRateLimiter(0, 1, Duration.ofSeconds(5), 2, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("github.rate-limit.requests-per-minute");
+    }
+
+    private static HttpHeaders quota(int remaining, Instant reset) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-RateLimit-Remaining", String.valueOf(remaining));
+        headers.set("X-RateLimit-Reset", String.valueOf(reset.getEpochSecond()));
+        return headers;
+    }
+
+    private static RestClientResponseException error(HttpStatus status, HttpHeaders headers) {
+        return HttpClientErrorException.create(status, status.getReasonPhrase(), headers, new byte[0], null);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.redcare.githubscoring.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redcare.githubscoring.config.AppConfig;
+import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.model.GitHubSearchPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GitHubSearchResponseParserTest {
+
+    private final ObjectMapper objectMapper = new AppConfig().objectMapper();
+
+    private final GitHubSearchResponseParser parser = new GitHubSearchResponseParser(objectMapper);
+
+    @Test
+    void shouldMatchTreeBasedParsingOnRealisticPayload() throws IOException {
+        GitHubSearchPage page;
+        try (InputStream body = fixture()) {
+            page = parser.parse(body);
+        }
+
+        JsonNode root;
+        try (InputStream body = fixture()) {
+            root = objectMapper.readTree(body);
+        }
+        List<GitHubRepository> expected = objectMapper.readValue(root.get("items").traverse(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, GitHubRepository.class));
+
+        assertThat(page.getTotalCount()).isEqualTo(root.get("total_count").asInt());
+        assertThat(page.isIncompleteResults()).isFalse();
+        assertThat(page.getItems()).hasSize(20).isEqualTo(expected);
+        assertThat(page.getItems()).allSatisfy(repo -> {
+            assertThat(repo.getId()).isNotNull();
+            assertThat(repo.getCreatedAt()).isNotNull();
+            assertThat(repo.getUpdatedAt()).isNotNull();
+        });
+    }
+
+    @Test
+    void shouldHandleNullsAndFieldsInAnyOrder() throws IOException {
+        String json = """
+                {"items":[{"license":null,"topics":["a"],"owner":{"login":"x","nested":{"deep":[1,2]}},
+                  "updated_at":"2024-03-01T10:15:30Z","description":null,"stargazers_count":7,"id":42,
+                  "forks_count":null,"created_at":"2024-01-01T00:00:00Z","full_name":"x/y"}],
+                 "incomplete_results":true,"extra":{"ignored":true}}""";
+
+        GitHubSearchPage page = parser.parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(page.getTotalCount()).isEqualTo(1);
+        assertThat(page.isIncompleteResults()).isTrue();
+        GitHubRepository repo = page.getItems().get(0);
+        assertThat(repo.getId()).isEqualTo(42L);
+        assertThat(repo.getFullName()).isEqualTo("x/y");
+        assertThat(repo.getDescription()).isNull();
+        assertThat(repo.getStargazersCount()).isEqualTo(7);
+        assertThat(repo.getForksCount()).isNull();
+        assertThat(repo.getCreatedAt()).isEqualTo(LocalDateTime.of(2024, 1, 1, 0, 0));
+        assertThat(repo.getUpdatedAt()).isEqualTo(LocalDateTime.of(2024, 3, 1, 10, 15, 30));
+    }
+
+    @Test
+    void shouldRejectMalformedBody() {
+        assertThatThrownBy(() -> parser.parse(new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static InputStream fixture() throws IOException {
+        return new ClassPathResource("github/search-repositories.json").getInputStream();
+    }
+}
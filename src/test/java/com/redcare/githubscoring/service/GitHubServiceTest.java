@@ -0,0 +1,617 @@
+package com.redcare.githubscoring.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.redcare.githubscoring.config.AppConfig;
+import com.redcare.githubscoring.config.CacheConfig;
+import com.redcare.githubscoring.config.RepositoriesCacheExpiry;
+import com.redcare.githubscoring.exception.GitHubRateLimitException;
+import com.redcare.githubscoring.exception.ServiceOverloadedException;
+import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.model.GitHubSearchPage;
+import com.redcare.githubscoring.model.RepositoryQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClientException;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.ExpectedCount.manyTimes;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class GitHubServiceTest {
+
+    private MockRestServiceServer server;
+
+    private GitHubSearchClient searchClient;
+
+    private GitHubService gitHubService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAsyncCacheMode(true);
+
+        meterRegistry = new SimpleMeterRegistry();
+        ScoringMetrics metrics = new ScoringMetrics(meterRegistry, List.of("java"));
+        searchClient = new GitHubSearchClient(restTemplate,
+                new GitHubSearchResponseParser(new AppConfig().objectMapper()), metrics,
+                GitHubTokenPool.anonymous(new GitHubRateLimiter(60_000, 100, Duration.ofSeconds(5), 2, Duration.ZERO)),
+                new GitHubPageValidators(cacheManager));
+        ReflectionTestUtils.setField(searchClient, "baseUrl", "https://api.github.com");
+        ReflectionTestUtils.setField(searchClient, "apiPath", "/search/repositories");
+
+        gitHubService = new GitHubService(searchClient, cacheManager, metrics, Runnable::run);
+        ReflectionTestUtils.setField(gitHubService, "maxPages", 10);
+    }
+
+    @Test
+    void shouldFetchSinglePageWhenAllResultsFit() {
+        expectPage(1, 2, 1, 2);
+
+        List<GitHubRepository> repositories = gitHubService.searchRepositories("java", LocalDate.of(2024, 1, 1));
+
+        assertThat(repositories).extracting(GitHubRepository::getId).containsExactly(1L, 2L);
+        server.verify();
+    }
+
+    @Test
+    void shouldFetchRemainingPagesAndDropDuplicates() {
+        expectPage(1, 250, range(1, 101));
+        expectPage(2, 250, range(100, 200));
+        expectPage(3, 250, range(199, 249));
+
+        List<GitHubRepository> repositories = gitHubService.searchRepositories("java", LocalDate.of(2024, 1, 1));
+
+        assertThat(repositories).hasSize(248);
+        assertThat(repositories).extracting(GitHubRepository::getId).doesNotHaveDuplicates();
+        assertThat(repositories.get(0).getId()).isEqualTo(1L);
+        server.verify();
+    }
+
+    @Test
+    void shouldNotFetchMorePagesThanConfigured() {
+        ReflectionTestUtils.setField(gitHubService, "maxPages", 2);
+        expectPage(1, 5000, range(1, 101));
+        expectPage(2, 5000, range(101, 201));
+
+        List<GitHubRepository> repositories = gitHubService.searchRepositories("java", LocalDate.of(2024, 1, 1));
+
+        assertThat(repositories).hasSize(200);
+        server.verify();
+    }
+
+    @Test
+    void shouldPropagateUpstreamFailures() {
+        server.expect(once(), requestTo(containsString("page=1")))
+                .andRespond(withStatus(HttpStatus.FORBIDDEN));
+
+        assertThatThrownBy(() -> gitHubService.searchRepositories("java", LocalDate.of(2024, 1, 1)))
+                .isInstanceOf(RestClientException.class);
+        assertThat(meterRegistry.get(ScoringMetrics.UPSTREAM_RESPONSES).tags("language", "java", "status", "403")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ScoringMetrics.FETCH).tags("language", "java", "outcome", "failure")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRetrySecondaryRateLimitAfterRetryAfter() {
+        server.expect(once(), requestTo(containsString("page=1")))
+                .andRespond(withStatus(HttpStatus.FORBIDDEN).header(HttpHeaders.RETRY_AFTER, "0"));
+        expectPage(1, 2, 1, 2);
+
+        List<GitHubRepository> repositories = gitHubService.searchRepositories("java", LocalDate.of(2024, 1, 1));
+
+        assertThat(repositories).extracting(GitHubRepository::getId).containsExactly(1L, 2L);
+        server.verify();
+    }
+
+    @Test
+    void shouldFailFastWhenRateLimitResetsAfterMaxWait() {
+        server.expect(once(), requestTo(containsString("page=1")))
+                .andRespond(withStatus(HttpStatus.FORBIDDEN)
+                        .header("X-RateLimit-Remaining", "0")
+                        .header("X-RateLimit-Reset", String.valueOf(Instant.now().plusSeconds(60).getEpochSecond())));
+
+        assertThatThrownBy(() -> gitHubService.searchRepositories("java", LocalDate.of(2024, 1, 1)))
+                .isInstanceOfSatisfying(GitHubRateLimitException.class,
+                        ex -> assertThat(ex.getRetryAfter()).isGreaterThan(Duration.ofSeconds(5)));
+        server.verify();
+    }
+
+    @Test
+    void shouldFailOverToAnotherTokenWhenQuotaResetsAfterMaxWait() {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer tokenServer = MockRestServiceServer.bindTo(restTemplate).build();
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAsyncCacheMode(true);
+        ScoringMetrics metrics = new ScoringMetrics(new SimpleMeterRegistry(), List.of("java"));
+        GitHubTokenPool tokenPool = new GitHubTokenPool(List.of("first", "second"),
+                () -> new GitHubRateLimiter(60_000, 100, Duration.ofSeconds(5), 0, Duration.ZERO));
+        GitHubSearchClient client = new GitHubSearchClient(restTemplate,
+                new GitHubSearchResponseParser(new AppConfig().objectMapper()), metrics, tokenPool,
+                new GitHubPageValidators(cacheManager));
+        ReflectionTestUtils.setField(client, "baseUrl", "https://api.github.com");
+        ReflectionTestUtils.setField(client, "apiPath", "/search/repositories");
+        tokenServer.expect(once(), requestTo(containsString("page=1")))
+                .andExpect(header(HttpHeaders.AUTHORIZATION, "Bearer first"))
+                .andRespond(withStatus(HttpStatus.FORBIDDEN)
+                        .header("X-RateLimit-Remaining", "0")
+                        .header("X-RateLimit-Reset", String.valueOf(Instant.now().plusSeconds(3600).getEpochSecond())));
+        tokenServer.expect(once(), requestTo(containsString("page=1")))
+                .andExpect(header(HttpHeaders.AUTHORIZATION, "Bearer second"))
+                .andRespond(withSuccess(searchResponse(2, 1, 2), MediaType.APPLICATION_JSON));
+
+        GitHubSearchPage page = client.fetchPage("java", "language:java", 1, 100);
+
+        assertThat(page.getItems()).extracting(GitHubRepository::getId).containsExactly(1L, 2L);
+        assertThat(tokenPool.tokens().get(0).isQuarantined()).isTrue();
+        tokenServer.verify();
+    }
+
+    @Test
+    void shouldKeepCachedResultWhenGitHubReportsPagesUnchanged() {
+        server.expect(once(), requestTo(containsString("page=1")))
+                .andRespond(withSuccess(searchResponse(2, 1, 2), MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.ETAG, "\"v1\""));
+        RepositoryQuery query = new RepositoryQuery("java", LocalDate.of(2024, 1, 1));
+        List<GitHubRepository> cached = gitHubService.searchRepositories(query.language(), query.createdAfter());
+        server.verify();
+        server.reset();
+
+        server.expect(once(), requestTo(containsString("page=1")))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, "\"v1\""));
+
+        assertThat(gitHubService.refreshRepositories(query, cached).join()).isSameAs(cached);
+        server.verify();
+    }
+
+    @Test
+    void shouldRebuildResultWhenAnyPageChanged() {
+        server.expect(once(), requestTo(allOf(containsString("per_page=100"), containsString("&page=1"))))
+                .andRespond(withSuccess(searchResponse(150, range(1, 101)), MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.ETAG, "\"p1\""));
+        server.expect(once(), requestTo(allOf(containsString("per_page=100"), containsString("&page=2"))))
+                .andRespond(withSuccess(searchResponse(150, range(101, 151)), MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.ETAG, "\"p2\""));
+        RepositoryQuery query = new RepositoryQuery("java", LocalDate.of(2024, 1, 1));
+        List<GitHubRepository> cached = gitHubService.searchRepositories(query.language(), query.createdAfter());
+        server.verify();
+        server.reset();
+
+        server.expect(once(), requestTo(allOf(containsString("per_page=100"), containsString("&page=1"))))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"p1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+        server.expect(once(), requestTo(allOf(containsString("per_page=100"), containsString("&page=2"))))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"p2\""))
+                .andRespond(withSuccess(searchResponse(151, range(101, 152)), MediaType.APPLICATION_JSON));
+
+        List<GitHubRepository> refreshed = gitHubService.refreshRepositories(query, cached).join();
+
+        assertThat(refreshed).isNotSameAs(cached).hasSize(151);
+        assertThat(refreshed.subList(0, 100)).isEqualTo(cached.subList(0, 100));
+        server.verify();
+    }
+
+    @Test
+    void shouldRecordUpstreamStagesTaggedByLanguage() {
+        expectPage(1, 250, range(1, 101));
+        expectPage(2, 250, range(101, 201));
+        expectPage(3, 250, range(201, 251));
+
+        gitHubService.searchRepositories("Java", LocalDate.of(2024, 1, 1));
+
+        assertThat(meterRegistry.get(ScoringMetrics.UPSTREAM_REQUEST).tags("language", "java", "status", "200")
+                .timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get(ScoringMetrics.UPSTREAM_RESPONSES).tags("language", "java", "status", "200")
+                .counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get(ScoringMetrics.UPSTREAM_PARSE).tag("language", "java").timer().count())
+                .isEqualTo(3);
+        assertThat(meterRegistry.get(ScoringMetrics.FETCH).tags("language", "java", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldShardCreatedWindowWhenSliceExceedsSearchCap() {
+        ReflectionTestUtils.setField(gitHubService, "shardingEnabled", true);
+        ReflectionTestUtils.setField(gitHubService, "maxShards", 16);
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDate createdAfter = today.minusDays(100);
+        int perDay = 30;
+        AtomicInteger requests = new AtomicInteger();
+
+        server.expect(manyTimes(), requestTo(containsString("created:"))).andRespond(request -> {
+            requests.incrementAndGet();
+            MultiValueMap<String, String> params = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams();
+            String query = URLDecoder.decode(params.getFirst("q"), StandardCharsets.UTF_8);
+            String[] range = query.substring(query.indexOf("created:") + "created:".length()).split("\\.\\.");
+            LocalDate from = LocalDate.parse(range[0]);
+            LocalDate to = LocalDate.parse(range[1]);
+            int page = Integer.parseInt(params.getFirst("page"));
+
+            long firstId = ChronoUnit.DAYS.between(createdAfter, from) * perDay;
+            long matches = (ChronoUnit.DAYS.between(from, to) + 1) * perDay;
+            long[] ids = LongStream.range(firstId + (page - 1) * 100L, firstId + Math.min(matches, page * 100L))
+                    .filter(id -> id < firstId + Math.min(matches, 1000))
+                    .toArray();
+            return withSuccess(searchResponse((int) matches, ids), MediaType.APPLICATION_JSON).createResponse(request);
+        });
+
+        List<GitHubRepository> repositories = gitHubService.searchRepositories("java", createdAfter);
+
+        assertThat(repositories).hasSize(100 * perDay);
+        assertThat(repositories).extracting(GitHubRepository::getId).doesNotHaveDuplicates();
+        assertThat(requests.get()).isLessThanOrEqualTo(1 + 16 + 16 * 10);
+    }
+
+    @Test
+    void shouldFallBackToSingleQueryWhenWindowIsEmpty() {
+        ReflectionTestUtils.setField(gitHubService, "shardingEnabled", true);
+        server.expect(once(), requestTo(containsString("created:%3E")))
+                .andRespond(withSuccess(searchResponse(0), MediaType.APPLICATION_JSON));
+
+        List<GitHubRepository> repositories = gitHubService.searchRepositories("java", LocalDate.now(ZoneOffset.UTC));
+
+        assertThat(repositories).isEmpty();
+        server.verify();
+    }
+
+    @Test
+    void shouldServeRepeatedQueriesFromCache() {
+        expectPage(1, 2, 1, 2);
+
+        List<GitHubRepository> first = gitHubService.searchRepositories("java", LocalDate.of(2024, 1, 1));
+        List<GitHubRepository> second = gitHubService.searchRepositories("java", LocalDate.of(2024, 1, 1));
+
+        assertThat(second).isSameAs(first);
+        server.verify();
+    }
+
+    @Test
+    void shouldFilterCompleteCachedResultOfEarlierDate() {
+        expectPage(1, 2, 1, 2);
+        gitHubService.searchRepositories("java", LocalDate.of(2023, 6, 1));
+        gitHubService.searchRepositories("java", LocalDate.of(2024, 1, 1));
+
+        List<GitHubRepository> covered = gitHubService.searchRepositories("Java", LocalDate.of(2024, 1, 15));
+        List<GitHubRepository> excluded = gitHubService.searchRepositories("java", LocalDate.of(2024, 2, 1));
+
+        assertThat(covered).extracting(GitHubRepository::getId).containsExactly(1L, 2L);
+        assertThat(excluded).isEmpty();
+        assertThat(gitHubService.searchRepositories("Java", LocalDate.of(2024, 1, 15))).isSameAs(covered);
+        assertThat(meterRegistry.get(ScoringMetrics.SUBSUMED).tag("language", "java").counter().count())
+                .isEqualTo(3.0);
+        server.verify();
+    }
+
+    @Test
+    void shouldFetchWhenCachedResultOfEarlierDateIsTruncated() {
+        ReflectionTestUtils.setField(gitHubService, "maxPages", 1);
+        server.expect(manyTimes(), requestTo(containsString("page=1")))
+                .andRespond(withSuccess(searchResponse(5000, range(1, 101)), MediaType.APPLICATION_JSON));
+
+        gitHubService.searchRepositories("java", LocalDate.of(2024, 1, 1));
+        gitHubService.searchRepositories("java", LocalDate.of(2024, 1, 15));
+        gitHubService.searchRepositories("python", LocalDate.of(2024, 1, 15));
+
+        assertThat(meterRegistry.find(ScoringMetrics.SUBSUMED).counter()).isNull();
+        server.verify();
+    }
+
+    @Test
+    void shouldServeRepositoriesRestoredFromSnapshotWithoutCallingGitHub() {
+        RepositoryQuery query = new RepositoryQuery("java", LocalDate.of(2024, 1, 1));
+        GitHubRepository restored = new GitHubRepository();
+        restored.setId(7L);
+        RepositoryCacheSnapshot snapshot = mock(RepositoryCacheSnapshot.class);
+        when(snapshot.take(query)).thenReturn(Optional.of(new RepositoryCacheSnapshot.Entry(List.of(restored), true,
+                Instant.now(), Instant.now().plusSeconds(60))));
+        ReflectionTestUtils.setField(gitHubService, "snapshot", snapshot);
+
+        List<GitHubRepository> repositories = gitHubService.searchRepositories("java", LocalDate.of(2024, 1, 1));
+
+        assertThat(repositories).containsExactly(restored);
+        assertThat(gitHubService.isComplete(repositories)).isTrue();
+        server.verify();
+    }
+
+    @Test
+    void shouldKeepRemainingTtlsOfRepositoriesRestoredFromSnapshot() {
+        RepositoriesCacheExpiry expiry = new RepositoriesCacheExpiry(Duration.ofMinutes(60), Duration.ofHours(6),
+                Duration.ofDays(365), Clock.systemUTC());
+        AtomicReference<GitHubService> service = new AtomicReference<>();
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAsyncCacheMode(true);
+        cacheManager.registerCustomCache(GitHubService.REPOSITORIES_CACHE, CacheConfig.repositoriesCacheBuilder(
+                        Duration.ofMinutes(10), expiry, 10_000, Ticker.systemTicker())
+                .executor(Runnable::run)
+                .buildAsync(new AsyncCacheLoader<Object, Object>() {
+                    @Override
+                    public CompletableFuture<?> asyncLoad(Object key, Executor executor) {
+                        return service.get().loadRepositories((RepositoryQuery) key);
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public CompletableFuture<?> asyncReload(Object key, Object oldValue, Executor executor) {
+                        return service.get().refreshRepositories((RepositoryQuery) key,
+                                (List<GitHubRepository>) oldValue);
+                    }
+                }));
+        service.set(new GitHubService(searchClient, cacheManager,
+                new ScoringMetrics(new SimpleMeterRegistry(), List.of()), Runnable::run));
+        ReflectionTestUtils.setField(service.get(), "maxPages", 10);
+        ReflectionTestUtils.setField(service.get(), "cacheExpiry", expiry);
+        RepositoryQuery fresh = new RepositoryQuery("java", LocalDate.of(2024, 1, 1));
+        RepositoryQuery stale = new RepositoryQuery("go", LocalDate.of(2024, 1, 1));
+        Instant now = Instant.now();
+        RepositoryCacheSnapshot snapshot = mock(RepositoryCacheSnapshot.class);
+        when(snapshot.take(fresh)).thenReturn(Optional.of(new RepositoryCacheSnapshot.Entry(new ArrayList<>(), true,
+                now.minus(Duration.ofMinutes(5)), now.plus(Duration.ofMinutes(55)))));
+        when(snapshot.take(stale)).thenReturn(Optional.of(new RepositoryCacheSnapshot.Entry(new ArrayList<>(), true,
+                now.minus(Duration.ofMinutes(50)), now.plus(Duration.ofMinutes(10)))));
+        ReflectionTestUtils.setField(service.get(), "snapshot", snapshot);
+        expectPage(1, 2, 1, 2);
+
+        assertThat(service.get().searchRepositories("java", fresh.createdAfter())).isEmpty();
+        assertThat(service.get().searchRepositories("go", stale.createdAfter())).isEmpty();
+
+        Policy.VarExpiration<Object, Object> expiration = ((CaffeineCache) cacheManager
+                .getCache(GitHubService.REPOSITORIES_CACHE)).getNativeCache().policy().expireVariably().orElseThrow();
+        assertThat(expiration.getExpiresAfter(fresh).orElseThrow()).isLessThanOrEqualTo(Duration.ofMinutes(55));
+        assertThat(service.get().searchRepositories("go", stale.createdAfter()))
+                .extracting(GitHubRepository::getId).containsExactly(1L, 2L);
+        server.verify();
+    }
+
+    @Test
+    void shouldLookUpSnapshotOnSearchExecutorRatherThanInsideCacheLoader() throws Exception {
+        RepositoryQuery query = new RepositoryQuery("java", LocalDate.of(2024, 1, 1));
+        ExecutorService searchExecutor = Executors.newSingleThreadExecutor(task -> new Thread(task, "search"));
+        try {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+            cacheManager.setAsyncCacheMode(true);
+            GitHubService service = new GitHubService(searchClient, cacheManager,
+                    new ScoringMetrics(new SimpleMeterRegistry(), List.of()), searchExecutor);
+            RepositoryCacheSnapshot snapshot = mock(RepositoryCacheSnapshot.class);
+            List<String> lookupThreads = new CopyOnWriteArrayList<>();
+            when(snapshot.take(query)).thenAnswer(invocation -> {
+                lookupThreads.add(Thread.currentThread().getName());
+                return Optional.of(new RepositoryCacheSnapshot.Entry(List.of(), true, Instant.now(),
+                        Instant.now().plusSeconds(60)));
+            });
+            ReflectionTestUtils.setField(service, "snapshot", snapshot);
+
+            assertThat(service.searchRepositoriesAsync("java", LocalDate.of(2024, 1, 1)).get(10, TimeUnit.SECONDS))
+                    .isEmpty();
+            assertThat(lookupThreads).containsExactly("search");
+        } finally {
+            searchExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldShareFetchedRepositoriesAndInvalidationsAcrossReplicas() {
+        SharedRepositoryStore store = new InMemorySharedRepositoryStore();
+        ReflectionTestUtils.setField(gitHubService, "sharedCache", sharedCache(gitHubService, store));
+        GitHubService otherReplica = replica(store);
+        RepositoryQuery query = new RepositoryQuery("java", LocalDate.of(2024, 1, 1));
+        expectPage(1, 2, 1, 2);
+
+        List<GitHubRepository> fetched = gitHubService.searchRepositories("java", query.createdAfter());
+        List<GitHubRepository> shared = otherReplica.searchRepositories("java", query.createdAfter());
+
+        assertThat(shared).isEqualTo(fetched).isNotSameAs(fetched);
+        assertThat(otherReplica.isComplete(shared)).isTrue();
+        server.verify();
+        server.reset();
+
+        expectPage(1, 3, 1, 2, 3);
+        gitHubService.refreshRepositories(query, fetched).join();
+
+        assertThat(otherReplica.searchRepositories("java", query.createdAfter()))
+                .extracting(GitHubRepository::getId).containsExactly(1L, 2L, 3L);
+        server.verify();
+    }
+
+    @Test
+    void shouldCoalesceConcurrentCacheMissesIntoOneUpstreamRequest() throws Exception {
+        int callers = 16;
+        ExecutorService searchExecutor = Executors.newFixedThreadPool(2);
+        ExecutorService callerPool = Executors.newFixedThreadPool(callers);
+        try {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+            cacheManager.setAsyncCacheMode(true);
+            GitHubService service = new GitHubService(searchClient, cacheManager,
+                    new ScoringMetrics(new SimpleMeterRegistry(), List.of()), searchExecutor);
+            ReflectionTestUtils.setField(service, "maxPages", 10);
+
+            CountDownLatch allCalling = new CountDownLatch(callers);
+            AtomicInteger upstreamRequests = new AtomicInteger();
+            server.expect(manyTimes(), requestTo(containsString("page=1"))).andRespond(request -> {
+                upstreamRequests.incrementAndGet();
+                try {
+                    allCalling.await(5, TimeUnit.SECONDS);
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return withSuccess(searchResponse(2, 1, 2), MediaType.APPLICATION_JSON).createResponse(request);
+            });
+
+            List<Future<List<GitHubRepository>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(callerPool.submit(() -> {
+                    allCalling.countDown();
+                    return service.searchRepositories("java", LocalDate.of(2024, 1, 1));
+                }));
+            }
+
+            for (Future<List<GitHubRepository>> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).extracting(GitHubRepository::getId).containsExactly(1L, 2L);
+            }
+            assertThat(upstreamRequests.get()).isEqualTo(1);
+        } finally {
+            callerPool.shutdownNow();
+            searchExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldReportEachDistinctRepositoryOnceWhileFetching() {
+        expectPage(1, 250, range(1, 101));
+        expectPage(2, 250, range(100, 200));
+        expectPage(3, 250, range(199, 249));
+        List<List<GitHubRepository>> reported = new ArrayList<>();
+
+        List<GitHubRepository> repositories = gitHubService
+                .streamRepositories("java", LocalDate.of(2024, 1, 1), reported::add)
+                .join();
+
+        assertThat(reported).hasSize(3);
+        assertThat(reported.stream().flatMap(List::stream).toList())
+                .containsExactlyInAnyOrderElementsOf(repositories);
+        List<GitHubRepository> cached = gitHubService
+                .streamRepositories("java", LocalDate.of(2024, 1, 1), page -> { throw new AssertionError(); })
+                .join();
+        assertThat(cached).isSameAs(repositories);
+        server.verify();
+    }
+
+    @Test
+    void shouldWarmQueriesWithoutCountingThemAsSearches() {
+        HotQueryTracker hotQueries = new HotQueryTracker(List.of(), 20, 0.5, Duration.ofHours(1));
+        ReflectionTestUtils.setField(gitHubService, "hotQueries", hotQueries);
+        RepositoryQuery query = new RepositoryQuery("java", LocalDate.of(2024, 1, 1));
+        expectPage(1, 2, 1, 2);
+
+        assertThat(gitHubService.needsWarming(query, Duration.ofMinutes(1))).isTrue();
+        List<GitHubRepository> warmed = gitHubService.warmRepositories(query, Duration.ofMinutes(1)).join();
+
+        assertThat(gitHubService.needsWarming(query, Duration.ofMinutes(1))).isFalse();
+        assertThat(hotQueries.hotQueries()).isEmpty();
+        assertThat(gitHubService.searchRepositories("java", LocalDate.of(2024, 1, 1))).isSameAs(warmed);
+        assertThat(hotQueries.hotQueries()).containsExactly(query);
+        server.verify();
+    }
+
+    @Test
+    void shouldServeCachedRepositoriesWhileUpstreamBulkheadIsFull() {
+        AdaptiveConcurrencyLimiter upstreamLimiter = new AdaptiveConcurrencyLimiter("upstream", 1, 1, 1,
+                Duration.ofSeconds(10), Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(searchClient, "upstreamLimiter", upstreamLimiter);
+        expectPage(1, 2, 1, 2);
+        List<GitHubRepository> cached = gitHubService.searchRepositories("java", LocalDate.of(2024, 1, 1));
+        assertThat(upstreamLimiter.inFlight()).isZero();
+
+        upstreamLimiter.acquire();
+
+        assertThat(gitHubService.searchRepositories("java", LocalDate.of(2024, 1, 1))).isSameAs(cached);
+        assertThatThrownBy(() -> gitHubService.searchRepositories("go", LocalDate.of(2024, 1, 1)))
+                .isInstanceOf(ServiceOverloadedException.class);
+        server.verify();
+    }
+
+    @Test
+    void shouldHoldUpstreamPermitPerRequestRatherThanPerFetch() {
+        AdaptiveConcurrencyLimiter upstreamLimiter = new AdaptiveConcurrencyLimiter("upstream", 1, 1, 4,
+                Duration.ofSeconds(10), Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(searchClient, "upstreamLimiter", upstreamLimiter);
+        expectPage(1, 250, range(1, 101));
+        expectPage(2, 250, range(101, 201));
+        expectPage(3, 250, range(201, 251));
+
+        assertThat(gitHubService.searchRepositories("java", LocalDate.of(2024, 1, 1))).hasSize(250);
+
+        assertThat(upstreamLimiter.inFlight()).isZero();
+        assertThat(upstreamLimiter.limit()).isEqualTo(3);
+        server.verify();
+    }
+
+    private GitHubService replica(SharedRepositoryStore store) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAsyncCacheMode(true);
+        GitHubService replica = new GitHubService(searchClient, cacheManager,
+                new ScoringMetrics(new SimpleMeterRegistry(), List.of()), Runnable::run);
+        ReflectionTestUtils.setField(replica, "maxPages", 10);
+        ReflectionTestUtils.setField(replica, "sharedCache", sharedCache(replica, store));
+        return replica;
+    }
+
+    private static SharedRepositoryCache sharedCache(GitHubService gitHubService, SharedRepositoryStore store) {
+        CacheManager cacheManager = (CacheManager) ReflectionTestUtils.getField(gitHubService, "cacheManager");
+        return new SharedRepositoryCache(store, cacheManager, query -> Duration.ofHours(1));
+    }
+
+    private void expectPage(int page, int totalCount, long... ids) {
+        server.expect(once(), requestTo(allOf(containsString("per_page=100"), containsString("&page=" + page))))
+                .andRespond(withSuccess(searchResponse(totalCount, ids), MediaType.APPLICATION_JSON));
+    }
+
+    private static long[] range(int fromInclusive, int toExclusive) {
+        return IntStream.range(fromInclusive, toExclusive).asLongStream().toArray();
+    }
+
+    private static String searchResponse(int totalCount, long... ids) {
+        String items = Arrays.stream(ids)
+                .mapToObj(id -> String.format("""
+                        {"id":%d,"name":"repo%d","full_name":"owner/repo%d","language":"Java",
+                         "stargazers_count":%d,"forks_count":1,"open_issues_count":0,
+                         "created_at":"2024-02-01T10:00:00Z","updated_at":"2024-03-01T10:00:00Z"}""",
+                        id, id, id, 1000 - id))
+                .collect(Collectors.joining(","));
+        return String.format("{\"total_count\":%d,\"incomplete_results\":false,\"items\":[%s]}", totalCount, items);
+    }
+}
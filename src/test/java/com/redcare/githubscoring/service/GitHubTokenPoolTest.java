@@ -0,0 +1,126 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.exception.GitHubRateLimitException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GitHubTokenPoolTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-06-01T12:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void shouldSpreadRequestsOverTheLeastLoadedTokens() {
+        GitHubTokenPool pool = pool("first", "second");
+
+        assertThat(pool.reserve()).isEqualTo(reservation(pool, 0, Duration.ZERO));
+        assertThat(pool.reserve()).isEqualTo(reservation(pool, 1, Duration.ZERO));
+        assertThat(pool.reserve()).isEqualTo(reservation(pool, 0, Duration.ofSeconds(1)));
+        assertThat(pool.reserve()).isEqualTo(reservation(pool, 1, Duration.ofSeconds(1)));
+        assertThat(pool.tokens()).extracting(GitHubTokenPool.PooledToken::requests).containsExactly(2L, 2L);
+    }
+
+    @Test
+    void shouldScaleRequestRateWithTheNumberOfTokens() {
+        GitHubTokenPool pool = pool("a", "b", "c", "d");
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(pool.reserve().delay()).isZero();
+        }
+        for (int i = 0; i < 4; i++) {
+            assertThat(pool.reserve().delay()).isEqualTo(Duration.ofSeconds(1));
+        }
+    }
+
+    @Test
+    void shouldPreferTokensWithMoreRemainingQuota() {
+        GitHubTokenPool pool = pool("first", "second");
+        pool.tokens().get(0).rateLimiter().onResponse(quota(100, CLOCK.instant().plusSeconds(3600)));
+        pool.tokens().get(1).rateLimiter().onResponse(quota(4000, CLOCK.instant().plusSeconds(3600)));
+
+        assertThat(pool.reserve().token().name()).isEqualTo("token-2");
+    }
+
+    @Test
+    void shouldQuarantineExhaustedTokensUntilReset() {
+        GitHubTokenPool pool = pool("first", "second");
+        GitHubTokenPool.PooledToken exhausted = pool.tokens().get(0);
+        exhausted.rateLimiter().onResponse(quota(0, CLOCK.instant().plusSeconds(60)));
+
+        assertThat(exhausted.isQuarantined()).isTrue();
+        for (int i = 0; i < 6; i++) {
+            assertThat(pool.reserve().token().name()).isEqualTo("token-2");
+        }
+        assertThatThrownBy(pool::reserve).isInstanceOf(GitHubRateLimitException.class);
+        assertThat(exhausted.requests()).isZero();
+    }
+
+    @Test
+    void shouldAuthorizeRequestsWithTheTokenOnly() {
+        GitHubTokenPool pool = pool(" secret ", "", "secret");
+        HttpHeaders headers = new HttpHeaders();
+
+        pool.acquire().authorize(headers);
+
+        assertThat(pool.tokens()).hasSize(1);
+        assertThat(headers.getFirst(HttpHeaders.AUTHORIZATION)).isEqualTo("Bearer secret");
+        assertThat(pool.tokens().get(0)).hasToString("token-1");
+    }
+
+    @Test
+    void shouldSendRequestsAnonymouslyWithoutTokens() {
+        GitHubTokenPool pool = pool();
+        HttpHeaders headers = new HttpHeaders();
+
+        GitHubTokenPool.PooledToken token = pool.acquire();
+        token.authorize(headers);
+
+        assertThat(token.name()).isEqualTo("anonymous");
+        assertThat(token.isAuthenticated()).isFalse();
+        assertThat(headers.containsKey(HttpHeaders.AUTHORIZATION)).isFalse();
+    }
+
+    @Test
+    void shouldDefaultToGitHubSearchLimitOfAuthenticatedOrAnonymousClients() {
+        assertThat(GitHubTokenPool.defaultRequestsPerMinute(List.of("secret"))).isEqualTo(30);
+        assertThat(GitHubTokenPool.defaultRequestsPerMinute(List.of(" "))).isEqualTo(10);
+        assertThat(GitHubTokenPool.defaultRequestsPerMinute(List.of())).isEqualTo(10);
+    }
+
+    @Test
+    void shouldPublishQuotaPerToken() {
+        GitHubTokenPool pool = pool("first", "second");
+        pool.tokens().get(1).rateLimiter().onResponse(quota(0, CLOCK.instant().plusSeconds(60)));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        pool.bindTo(registry);
+
+        assertThat(registry.get("github.rate-limit.remaining").tag("token", "token-1").gauge().value()).isEqualTo(-1);
+        assertThat(registry.get("github.rate-limit.remaining").tag("token", "token-2").gauge().value()).isZero();
+        assertThat(registry.get("github.rate-limit.quarantined").tag("token", "token-2").gauge().value()).isEqualTo(1);
+    }
+
+    private static GitHubTokenPool pool(String... tokens) {
+        return new GitHubTokenPool(List.of(tokens),
+                () -> new GitHubRateLimiter(60, 1, Duration.ofSeconds(5), 2, Duration.ofSeconds(1), CLOCK));
+    }
+
+    private static GitHubTokenPool.Reservation reservation(GitHubTokenPool pool, int token, Duration wait) {
+        return new GitHubTokenPool.Reservation(pool.tokens().get(token), wait);
+    }
+
+    private static HttpHeaders quota(int remaining, Instant reset) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-RateLimit-Remaining", String.valueOf(remaining));
+        headers.set("X-RateLimit-Reset", String.valueOf(reset.getEpochSecond()));
+        return headers;
+    }
+}
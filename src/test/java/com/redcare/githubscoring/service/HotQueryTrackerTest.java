@@ -0,0 +1,109 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.model.RepositoryQuery;
+import org.junit.jupiter.api.Test;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HotQueryTrackerTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T12:00:00Z");
+
+    private static final RepositoryQuery JAVA = new RepositoryQuery("java", LocalDate.of(2024, 1, 1));
+
+    private static final RepositoryQuery GO = new RepositoryQuery("go", LocalDate.of(2024, 3, 1));
+
+    private static final RepositoryQuery RUST = new RepositoryQuery("rust", LocalDate.of(2024, 5, 1));
+
+    @Test
+    void shouldResolveConfiguredQueriesAgainstToday() {
+        HotQueryTracker tracker = tracker(List.of("java:2024-01-01", " python : P30D ", "c++:P1Y"), NOW);
+
+        assertThat(tracker.hotQueries()).containsExactly(
+                JAVA,
+                new RepositoryQuery("python", LocalDate.of(2024, 5, 2)),
+                new RepositoryQuery("c++", LocalDate.of(2023, 6, 1)));
+    }
+
+    @Test
+    void shouldLearnMostSearchedQueriesAfterConfiguredOnes() {
+        HotQueryTracker tracker = tracker(List.of("java:2024-01-01"), NOW);
+        record(tracker, GO, 3);
+        record(tracker, RUST, 5);
+        record(tracker, JAVA, 9);
+        record(tracker, new RepositoryQuery("php", LocalDate.of(2024, 1, 1)), 2);
+
+        assertThat(tracker.hotQueries()).containsExactly(JAVA, RUST, GO);
+    }
+
+    @Test
+    void shouldLimitLearnedQueries() {
+        HotQueryTracker tracker = new HotQueryTracker(List.of(), 1, 3, Duration.ofHours(1),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        record(tracker, GO, 3);
+        record(tracker, RUST, 4);
+
+        assertThat(tracker.hotQueries()).containsExactly(RUST);
+    }
+
+    @Test
+    void shouldForgetQueriesNoLongerSearched() {
+        MutableClock clock = new MutableClock(NOW);
+        HotQueryTracker tracker = new HotQueryTracker(List.of(), 20, 3, Duration.ofHours(1), clock);
+        record(tracker, GO, 4);
+        record(tracker, RUST, 8);
+
+        clock.now = NOW.plus(Duration.ofHours(1));
+
+        assertThat(tracker.hotQueries()).containsExactly(RUST);
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguredQueries() {
+        assertThatThrownBy(() -> tracker(List.of("java"), NOW)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tracker(List.of("java:yesterday"), NOW))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static HotQueryTracker tracker(List<String> queries, Instant now) {
+        return new HotQueryTracker(queries, 20, 3, Duration.ofHours(1), Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static void record(HotQueryTracker tracker, RepositoryQuery query, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(query);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
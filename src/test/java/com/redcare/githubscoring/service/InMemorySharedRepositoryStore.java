@@ -0,0 +1,63 @@
+package com.redcare.githubscoring.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link SharedRepositoryStore} kept in the memory of this process for tests. Replicas sharing one instance behave
+ * like replicas sharing a remote store. Messages are delivered synchronously on the publishing thread.
+ */
+public class InMemorySharedRepositoryStore implements SharedRepositoryStore {
+
+    private final Map<String, StoredValue> values = new ConcurrentHashMap<>();
+
+    private final List<Consumer<String>> subscribers = new CopyOnWriteArrayList<>();
+
+    private final Clock clock;
+
+    public InMemorySharedRepositoryStore() {
+        this(Clock.systemUTC());
+    }
+
+    public InMemorySharedRepositoryStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<byte[]> get(String key) {
+        StoredValue stored = values.get(key);
+        if (stored == null) {
+            return Optional.empty();
+        }
+        if (!clock.instant().isBefore(stored.expiresAt())) {
+            values.remove(key, stored);
+            return Optional.empty();
+        }
+        return Optional.of(stored.value().clone());
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        values.put(key, new StoredValue(value.clone(), clock.instant().plus(ttl)));
+    }
+
+    @Override
+    public void publish(String message) {
+        subscribers.forEach(subscriber -> subscriber.accept(message));
+    }
+
+    @Override
+    public void subscribe(Consumer<String> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    private record StoredValue(byte[] value, Instant expiresAt) {
+    }
+}
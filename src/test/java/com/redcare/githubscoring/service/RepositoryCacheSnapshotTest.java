@@ -0,0 +1,155 @@
+package com.redcare.githubscoring.service;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.redcare.githubscoring.config.CacheConfig;
+import com.redcare.githubscoring.config.RepositoriesCacheExpiry;
+import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.model.RepositoryQuery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryCacheSnapshotTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T12:00:00Z");
+
+    private static final RepositoryQuery QUERY = new RepositoryQuery("java", LocalDate.of(2024, 1, 1));
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldRestoreCachedRepositoriesOnce() {
+        GitHubRepository full = repository(1L, "owner/full");
+        full.setDescription("Déjà vu");
+        GitHubRepository sparse = new GitHubRepository();
+        sparse.setFullName("owner/sparse");
+        CaffeineCacheManager cacheManager = cacheManager();
+        List<GitHubRepository> cached = List.of(full, sparse);
+        cache(cacheManager).retrieve(QUERY, () -> CompletableFuture.completedFuture(cached)).join();
+
+        snapshot(cacheManager, Clock.fixed(NOW, ZoneOffset.UTC)).write();
+        RepositoryCacheSnapshot restarted = snapshot(cacheManager(), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        RepositoryCacheSnapshot.Entry entry = restarted.take(QUERY).orElseThrow();
+        assertThat(entry.repositories()).containsExactly(full, sparse);
+        assertThat(entry.complete()).isTrue();
+        assertThat(entry.writtenAt()).isBetween(NOW.minus(Duration.ofMinutes(1)), NOW);
+        assertThat(entry.expiresAt()).isBetween(NOW.plus(Duration.ofMinutes(59)), NOW.plus(Duration.ofMinutes(60)));
+        assertThat(restarted.take(QUERY)).isEmpty();
+        assertThat(restarted.take(new RepositoryQuery("go", LocalDate.of(2024, 1, 1)))).isEmpty();
+    }
+
+    @Test
+    void shouldSkipEntriesPastTheirHardTtl() {
+        CaffeineCacheManager cacheManager = cacheManager();
+        cache(cacheManager).retrieve(QUERY,
+                () -> CompletableFuture.completedFuture(List.of(repository(1L, "owner/repo")))).join();
+        snapshot(cacheManager, Clock.fixed(NOW, ZoneOffset.UTC)).write();
+
+        RepositoryCacheSnapshot restarted = snapshot(cacheManager(),
+                Clock.fixed(NOW.plus(Duration.ofMinutes(61)), ZoneOffset.UTC));
+
+        assertThat(restarted.take(QUERY)).isEmpty();
+    }
+
+    @Test
+    void shouldKeepRestoredEntriesNotTakenYetWhenWritingAgain() {
+        CaffeineCacheManager cacheManager = cacheManager();
+        cache(cacheManager).retrieve(QUERY,
+                () -> CompletableFuture.completedFuture(List.of(repository(1L, "owner/repo")))).join();
+        snapshot(cacheManager, Clock.fixed(NOW, ZoneOffset.UTC)).write();
+
+        snapshot(cacheManager(), Clock.fixed(NOW, ZoneOffset.UTC)).write();
+
+        assertThat(snapshot(cacheManager(), Clock.fixed(NOW, ZoneOffset.UTC)).take(QUERY)).isPresent();
+    }
+
+    @Test
+    void shouldSkipCorruptSnapshot() throws IOException {
+        CaffeineCacheManager cacheManager = cacheManager();
+        cache(cacheManager).retrieve(QUERY,
+                () -> CompletableFuture.completedFuture(List.of(repository(1L, "owner/repo")))).join();
+        snapshot(cacheManager, Clock.fixed(NOW, ZoneOffset.UTC)).write();
+        byte[] bytes = Files.readAllBytes(path());
+        bytes[bytes.length / 2] ^= 0x5a;
+        Files.write(path(), bytes);
+
+        assertThat(snapshot(cacheManager(), Clock.fixed(NOW, ZoneOffset.UTC)).take(QUERY)).isEmpty();
+
+        Files.write(path(), new byte[] {1, 2, 3});
+        assertThat(snapshot(cacheManager(), Clock.fixed(NOW, ZoneOffset.UTC)).take(QUERY)).isEmpty();
+    }
+
+    @Test
+    void shouldSkipSnapshotOfAnotherVersion() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(RepositoryCacheSnapshot.MAGIC);
+        out.writeInt(RepositoryCacheSnapshot.VERSION + 1);
+        out.writeLong(NOW.toEpochMilli());
+        out.writeInt(0);
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes.toByteArray());
+        out.writeLong(checksum.getValue());
+        Files.createDirectories(path().getParent());
+        Files.write(path(), bytes.toByteArray());
+
+        assertThat(snapshot(cacheManager(), Clock.fixed(NOW, ZoneOffset.UTC)).take(QUERY)).isEmpty();
+    }
+
+    private RepositoryCacheSnapshot snapshot(CaffeineCacheManager cacheManager, Clock clock) {
+        return new RepositoryCacheSnapshot(cacheManager, repositories -> true, path(), clock);
+    }
+
+    private Path path() {
+        return directory.resolve("snapshot").resolve("repositories.snapshot");
+    }
+
+    private static CaffeineCacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAsyncCacheMode(true);
+        cacheManager.registerCustomCache(GitHubService.REPOSITORIES_CACHE, CacheConfig.repositoriesCacheBuilder(
+                        Duration.ofMinutes(10),
+                        new RepositoriesCacheExpiry(Duration.ofMinutes(60), Duration.ofHours(6), Duration.ofDays(365),
+                                Clock.fixed(NOW, ZoneOffset.UTC)),
+                        1000, Ticker.systemTicker())
+                .buildAsync((key, executor) -> CompletableFuture.completedFuture(List.of())));
+        return cacheManager;
+    }
+
+    private static Cache cache(CaffeineCacheManager cacheManager) {
+        return cacheManager.getCache(GitHubService.REPOSITORIES_CACHE);
+    }
+
+    private static GitHubRepository repository(Long id, String fullName) {
+        GitHubRepository repo = new GitHubRepository();
+        repo.setId(id);
+        repo.setName(fullName.substring(fullName.indexOf('/') + 1));
+        repo.setFullName(fullName);
+        repo.setLanguage("Java");
+        repo.setStargazersCount(100);
+        repo.setForksCount(10);
+        repo.setOpenIssuesCount(3);
+        repo.setCreatedAt(LocalDateTime.of(2024, 2, 1, 10, 0, 5));
+        repo.setUpdatedAt(LocalDateTime.of(2024, 5, 1, 8, 30));
+        return repo;
+    }
+}
@@ -0,0 +1,130 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.model.RepositoryQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClientException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RepositoryIndexServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T12:00:00Z");
+
+    private final GitHubService gitHubService = mock(GitHubService.class);
+
+    private final RepositoryIndexService indexService = indexService(Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @BeforeEach
+    void setUp() {
+        when(gitHubService.isComplete(any())).thenReturn(true);
+    }
+
+    @Test
+    void shouldIndexConfiguredLanguagesOverWindow() {
+        when(gitHubService.fetchRepositories(any())).thenReturn(CompletableFuture.completedFuture(List.of(
+                repository(1, "2024-05-20"), repository(2, "2024-01-10"), repository(3, "2024-03-01"))));
+
+        indexService.refresh();
+
+        verify(gitHubService).fetchRepositories(new RepositoryQuery("java", LocalDate.of(2023, 12, 3)));
+        assertThat(indexService.indexes()).containsOnlyKeys("java");
+        assertThat(indexService.indexes().get("java").size()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldReturnRepositoriesCreatedAfterDateOldestFirst() {
+        when(gitHubService.fetchRepositories(any())).thenReturn(CompletableFuture.completedFuture(List.of(
+                repository(1, "2024-05-20"), repository(2, "2024-01-10"), repository(3, "2024-03-01"),
+                repository(4, "2024-03-02"))));
+        indexService.refresh();
+
+        assertThat(indexService.find("Java", LocalDate.of(2024, 3, 1)).orElseThrow())
+                .extracting(GitHubRepository::getId).containsExactly(4L, 1L);
+        assertThat(indexService.find("java", LocalDate.of(2024, 1, 9)).orElseThrow())
+                .extracting(GitHubRepository::getId).containsExactly(2L, 3L, 4L, 1L);
+        assertThat(indexService.find("java", LocalDate.of(2024, 5, 20)).orElseThrow()).isEmpty();
+        assertThat(indexService.find("java", LocalDate.of(2024, 2, 1)).orElseThrow())
+                .isSameAs(indexService.find("java", LocalDate.of(2024, 2, 15)).orElseThrow());
+    }
+
+    @Test
+    void shouldNotAnswerUncoveredSearches() {
+        when(gitHubService.fetchRepositories(any())).thenReturn(CompletableFuture.completedFuture(List.of()));
+        indexService.refresh();
+
+        assertThat(indexService.find("java", LocalDate.of(2023, 12, 3))).isPresent();
+        assertThat(indexService.find("java", LocalDate.of(2023, 12, 2))).isEmpty();
+        assertThat(indexService.find("go", LocalDate.of(2024, 1, 1))).isEmpty();
+    }
+
+    @Test
+    void shouldKeepPreviousIndexWhenRefreshFailsUntilMaxAge() {
+        when(gitHubService.fetchRepositories(any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(repository(1, "2024-05-20"))))
+                .thenReturn(CompletableFuture.failedFuture(new RestClientException("API Error")));
+        indexService.refresh();
+        indexService.refresh();
+
+        assertThat(indexService.find("java", LocalDate.of(2024, 1, 1)).orElseThrow()).hasSize(1);
+
+        RepositoryIndexService later = indexService(Clock.fixed(NOW.plus(Duration.ofHours(3)), ZoneOffset.UTC));
+        assertThat(later.isFresh(indexService.indexes().get("java"))).isFalse();
+    }
+
+    @Test
+    void shouldNotServeTruncatedFetches() {
+        List<GitHubRepository> truncated = List.of(repository(1, "2024-05-20"));
+        when(gitHubService.fetchRepositories(any())).thenReturn(CompletableFuture.completedFuture(truncated));
+        when(gitHubService.isComplete(truncated)).thenReturn(false);
+
+        indexService.refresh();
+
+        assertThat(indexService.indexes()).isEmpty();
+        assertThat(indexService.find("java", LocalDate.of(2024, 5, 1))).isEmpty();
+    }
+
+    @Test
+    void shouldPublishIndexSizeAndAge() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        indexService.bindTo(registry);
+        assertThat(registry.get("repository.index.size").tag("language", "java").gauge().value()).isNaN();
+
+        when(gitHubService.fetchRepositories(any())).thenReturn(CompletableFuture.completedFuture(List.of(
+                repository(1, "2024-05-20"), repository(2, "2024-01-10"))));
+        indexService.refresh();
+
+        assertThat(registry.get("repository.index.size").tag("language", "java").gauge().value()).isEqualTo(2.0);
+        assertThat(registry.get("repository.index.age").tag("language", "java").gauge().value()).isZero();
+    }
+
+    private RepositoryIndexService indexService(Clock clock) {
+        return new RepositoryIndexService(gitHubService, List.of("Java", " "), Duration.ofDays(181),
+                Duration.ofHours(2), clock);
+    }
+
+    private static GitHubRepository repository(long id, String createdOn) {
+        GitHubRepository repo = new GitHubRepository();
+        repo.setId(id);
+        repo.setFullName("owner/repo" + id);
+        repo.setStargazersCount(10);
+        repo.setForksCount(1);
+        repo.setCreatedAt(LocalDate.parse(createdOn).atTime(10, 0));
+        repo.setUpdatedAt(LocalDateTime.of(2024, 5, 30, 0, 0));
+        return repo;
+    }
+}
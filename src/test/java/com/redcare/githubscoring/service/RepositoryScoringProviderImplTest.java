@@ -2,25 +2,35 @@ package com.redcare.githubscoring.service;
 
 import com.redcare.githubscoring.dto.RepositoryScoreResponse;
 import com.redcare.githubscoring.model.GitHubRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.client.RestClientException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
 @TestPropertySource(properties = {
         "scoring.weights.stars=0.4",
         "scoring.weights.forks=0.3",
-        "scoring.weights.recency=0.3"
+        "scoring.weights.recency=0.3",
+        "github.index.languages=rust"
 })
 class RepositoryScoringProviderImplTest {
 
@@ -30,6 +40,12 @@ class RepositoryScoringProviderImplTest {
     @Autowired
     private RepositoryScoringService scoringService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RepositoryIndexService repositoryIndex;
+
     @Test
     void shouldScoreRepositoriesCorrectly() {
         LocalDateTime now = LocalDateTime.now();
@@ -66,6 +82,149 @@ class RepositoryScoringProviderImplTest {
         assertThat(results.get(0).getScore()).isGreaterThan(BigDecimal.ZERO);
     }
 
+    @Test
+    void shouldReuseScoredResultsForRepeatedQuery() {
+        LocalDateTime now = LocalDateTime.now();
+        List<GitHubRepository> repositories = List.of(
+                createRepository("owner1/repo1", 100, 50, now.minusDays(10), now.minusDays(5)));
+        when(gitHubService.searchRepositories(any(), any())).thenReturn(repositories);
+
+        List<RepositoryScoreResponse> first = scoringService.scoreRepositories("kotlin", now.minusDays(300));
+        List<RepositoryScoreResponse> second = scoringService.scoreRepositories("kotlin", now.minusDays(300));
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void shouldRescoreWhenRepositoriesChange() {
+        LocalDateTime now = LocalDateTime.now();
+        when(gitHubService.searchRepositories(any(), any())).thenReturn(
+                List.of(createRepository("owner1/repo1", 100, 50, now.minusDays(10), now.minusDays(5))));
+        List<RepositoryScoreResponse> first = scoringService.scoreRepositories("scala", now.minusDays(300));
+
+        when(gitHubService.searchRepositories(any(), any())).thenReturn(
+                List.of(createRepository("owner2/repo2", 100, 50, now.minusDays(10), now.minusDays(5))));
+        List<RepositoryScoreResponse> second = scoringService.scoreRepositories("scala", now.minusDays(300));
+
+        assertThat(first.get(0).getFullName()).isEqualTo("owner1/repo1");
+        assertThat(second.get(0).getFullName()).isEqualTo("owner2/repo2");
+    }
+
+    @Test
+    void shouldReturnRequestedPageOfRanking() {
+        LocalDateTime now = LocalDateTime.now();
+        List<GitHubRepository> repositories = IntStream.range(0, 50)
+                .mapToObj(i -> createRepository("owner/repo" + i, (i * 37) % 101, (i * 11) % 23,
+                        now.minusDays(100), now.minusDays(i % 30)))
+                .toList();
+        when(gitHubService.searchRepositories(any(), any())).thenReturn(repositories);
+
+        List<RepositoryScoreResponse> page = scoringService.scoreRepositories("go", now.minusDays(400), 10, 5);
+        List<RepositoryScoreResponse> all = scoringService.scoreRepositories("go", now.minusDays(400));
+        List<RepositoryScoreResponse> cachedPage = scoringService.scoreRepositories("go", now.minusDays(400), 10, 5);
+
+        assertThat(page).hasSize(5).isEqualTo(all.subList(10, 15)).isEqualTo(cachedPage);
+        assertThat(scoringService.scoreRepositories("go", now.minusDays(400), 48, 5)).hasSize(2);
+        assertThat(scoringService.scoreRepositories("go", now.minusDays(400), 60, 5)).isEmpty();
+    }
+
+    @Test
+    void shouldStreamProvisionalScoresAndFinishWithRanking() {
+        LocalDateTime now = LocalDateTime.now();
+        GitHubRepository small = createRepository("owner1/small", 10, 10, now.minusDays(10), now.minusDays(5));
+        GitHubRepository large = createRepository("owner2/large", 100, 100, now.minusDays(10), now.minusDays(5));
+        when(gitHubService.streamRepositories(any(), any(), any())).thenAnswer(invocation -> {
+            Consumer<List<GitHubRepository>> onRepositories = invocation.getArgument(2);
+            onRepositories.accept(List.of(small));
+            onRepositories.accept(List.of(large));
+            return CompletableFuture.completedFuture(List.of(small, large));
+        });
+        List<RepositoryScoreResponse> provisional = new ArrayList<>();
+
+        List<RepositoryScoreResponse> ranking = scoringService.streamRepositories("java", now.minusDays(30), 0, null,
+                provisional::add);
+
+        assertThat(provisional).extracting(RepositoryScoreResponse::getFullName)
+                .containsExactly("owner1/small", "owner2/large");
+        assertThat(provisional.get(0).getScore()).isGreaterThan(ranking.get(1).getScore());
+        assertThat(provisional.get(1).getScore()).isEqualTo(ranking.get(0).getScore());
+        assertThat(ranking).extracting(RepositoryScoreResponse::getFullName)
+                .containsExactly("owner2/large", "owner1/small");
+    }
+
+    @Test
+    void shouldStreamCachedRepositoriesAtOnce() {
+        LocalDateTime now = LocalDateTime.now();
+        List<GitHubRepository> repositories = List.of(
+                createRepository("owner1/repo1", 100, 50, now.minusDays(10), now.minusDays(5)),
+                createRepository("owner2/repo2", 200, 100, now.minusDays(20), now.minusDays(2)));
+        when(gitHubService.streamRepositories(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(repositories));
+        List<RepositoryScoreResponse> provisional = new ArrayList<>();
+
+        List<RepositoryScoreResponse> ranking = scoringService.streamRepositories("java", now.minusDays(30), 0, 1,
+                provisional::add);
+
+        assertThat(provisional).hasSize(2);
+        assertThat(ranking).hasSize(1).containsExactly(provisional.get(1));
+        verify(gitHubService, never()).searchRepositories(any(), any());
+    }
+
+    @Test
+    void shouldPropagateStreamingFetchFailure() {
+        when(gitHubService.streamRepositories(any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RestClientException("API Error")));
+
+        assertThatThrownBy(() -> scoringService.streamRepositories("java", LocalDateTime.now(), 0, null, repo -> { }))
+                .isInstanceOf(RestClientException.class);
+    }
+
+    @Test
+    void shouldAnswerIndexedLanguagesWithoutCallingGitHub() {
+        LocalDateTime now = LocalDateTime.now();
+        when(gitHubService.fetchRepositories(any())).thenReturn(CompletableFuture.completedFuture(List.of(
+                createRepository("owner1/old", 500, 50, now.minusDays(200), now.minusDays(5)),
+                createRepository("owner2/new", 100, 10, now.minusDays(20), now.minusDays(2)),
+                createRepository("owner3/newer", 200, 10, now.minusDays(10), now.minusDays(2)))));
+        when(gitHubService.isComplete(any())).thenReturn(true);
+        repositoryIndex.refresh();
+
+        List<RepositoryScoreResponse> recent = scoringService.scoreRepositories("Rust", now.minusDays(30));
+        List<RepositoryScoreResponse> all = scoringService.scoreRepositories("rust", now.minusDays(300));
+
+        assertThat(recent).extracting(RepositoryScoreResponse::getFullName)
+                .containsExactlyInAnyOrder("owner2/new", "owner3/newer");
+        assertThat(all).extracting(RepositoryScoreResponse::getFullName)
+                .containsExactlyInAnyOrder("owner1/old", "owner2/new", "owner3/newer");
+        verify(gitHubService, never()).searchRepositories(any(), any());
+    }
+
+    @Test
+    void shouldRecordScoringStagesAndCacheMetrics() {
+        LocalDateTime now = LocalDateTime.now();
+        when(gitHubService.searchRepositories(any(), any())).thenReturn(List.of(
+                createRepository("owner1/repo1", 100, 50, now.minusDays(10), now.minusDays(5)),
+                createRepository("owner2/repo2", 200, 100, now.minusDays(20), now.minusDays(2))));
+
+        scoringService.scoreRepositories("Python", now.minusDays(30));
+        scoringService.scoreRepositories("Python", now.minusDays(30), 0, 1);
+
+        assertThat(meterRegistry.get(ScoringMetrics.SCORE).tag("language", "python").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ScoringMetrics.RANK).tag("language", "python").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(ScoringMetrics.RESULT_SIZE).tag("language", "python").gauge().value())
+                .isEqualTo(2.0);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "repositories", "result", "miss")
+                .functionCounter()).isNotNull();
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "scores", "result", "hit")
+                .functionCounter().count()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("cache.weight.max").tag("cache", "repositories").gauge().value())
+                .isEqualTo(200_000.0);
+        assertThat(meterRegistry.get("cache.weight.max").tag("cache", "scores").gauge().value())
+                .isEqualTo(200_000.0);
+        assertThat(meterRegistry.get("cache.weight").tag("cache", "scores").gauge().value())
+                .isGreaterThanOrEqualTo(2.0);
+    }
+
     private GitHubRepository createRepository(String fullName, int stars, int forks,
                                               LocalDateTime createdAt, LocalDateTime updatedAt) {
         GitHubRepository repo = new GitHubRepository();
@@ -0,0 +1,40 @@
+package com.redcare.githubscoring.service;
+
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreRankingTest {
+
+    @Test
+    void shouldSelectBestScoresInRankOrder() {
+        double[] scores = {1.5, 9.0, 3.25, 9.0, 0.0, 7.75};
+
+        assertThat(ScoreRanking.topK(scores, 3)).containsExactly(1, 3, 5);
+        assertThat(ScoreRanking.sortAll(scores)).containsExactly(1, 3, 5, 2, 0, 4);
+    }
+
+    @Test
+    void shouldMatchFullSortForRandomScores() {
+        Random random = new Random(11);
+        double[] scores = IntStream.range(0, 5000).mapToDouble(i -> Math.round(random.nextDouble() * 500) / 100.0).toArray();
+        int[] expected = IntStream.range(0, scores.length).boxed()
+                .sorted(Comparator.<Integer>comparingDouble(i -> scores[i]).reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        assertThat(ScoreRanking.sortAll(scores)).containsExactly(expected);
+        assertThat(ScoreRanking.topK(scores, 20)).containsExactly(Arrays.copyOf(expected, 20));
+    }
+
+    @Test
+    void shouldHandleEmptyAndOversizedSelections() {
+        assertThat(ScoreRanking.topK(new double[0], 10)).isEmpty();
+        assertThat(ScoreRanking.topK(new double[]{2.0, 1.0}, 0)).isEmpty();
+        assertThat(ScoreRanking.topK(new double[]{1.0, 2.0}, 10)).containsExactly(1, 0);
+    }
+}
@@ -0,0 +1,37 @@
+package com.redcare.githubscoring.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoringMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final ScoringMetrics metrics = new ScoringMetrics(registry, List.of(" Java", "C++"));
+
+    @Test
+    void shouldTagConfiguredLanguagesCaseInsensitively() {
+        assertThat(metrics.languageTag("java")).isEqualTo("java");
+        assertThat(metrics.languageTag("JAVA ")).isEqualTo("java");
+        assertThat(metrics.languageTag("c++")).isEqualTo("c++");
+        assertThat(metrics.languageTag("cobol")).isEqualTo(ScoringMetrics.OTHER_LANGUAGE);
+        assertThat(metrics.languageTag(null)).isEqualTo(ScoringMetrics.OTHER_LANGUAGE);
+    }
+
+    @Test
+    void shouldBoundTimeSeriesForArbitraryLanguages() {
+        IntStream.range(0, 100).forEach(i -> {
+            metrics.recordScore(metrics.start(), "lang" + i);
+            metrics.recordResultSize("lang" + i, i);
+        });
+
+        assertThat(registry.get(ScoringMetrics.SCORE).timers()).hasSize(1);
+        assertThat(registry.get(ScoringMetrics.SCORE).tag("language", "other").timer().count()).isEqualTo(100);
+        assertThat(registry.get(ScoringMetrics.RESULT_SIZE).gauges()).hasSize(1);
+        assertThat(registry.get(ScoringMetrics.RESULT_SIZE).gauge().value()).isEqualTo(99.0);
+    }
+}
@@ -0,0 +1,110 @@
+package com.redcare.githubscoring.service;
+
+import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.model.RepositoryQuery;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SharedRepositoryCacheTest {
+
+    private static final RepositoryQuery QUERY = new RepositoryQuery("java", LocalDate.of(2024, 1, 1));
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-06-01T12:00:00Z"));
+
+    private final InMemorySharedRepositoryStore store = new InMemorySharedRepositoryStore(clock);
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    private final SharedRepositoryCache sharedCache = new SharedRepositoryCache(store, cacheManager,
+            query -> Duration.ofMinutes(60));
+
+    @Test
+    void shouldStoreRepositoriesInCompactFormUntilTtl() {
+        GitHubRepository repo = new GitHubRepository();
+        repo.setId(1L);
+        repo.setFullName("owner/repo");
+        repo.setStargazersCount(42);
+        repo.setCreatedAt(LocalDateTime.of(2024, 2, 1, 10, 0));
+        sharedCache.put(QUERY, List.of(repo), true);
+
+        SharedRepositoryCache.Entry entry = sharedCache.get(QUERY).orElseThrow();
+        assertThat(entry.repositories()).containsExactly(repo);
+        assertThat(entry.complete()).isTrue();
+        assertThat(store.get(SharedRepositoryCache.KEY_PREFIX + "java:2024-01-01").orElseThrow()).hasSizeLessThan(64);
+
+        clock.advance(Duration.ofMinutes(61));
+        assertThat(sharedCache.get(QUERY)).isEmpty();
+    }
+
+    @Test
+    void shouldTreatMalformedEntriesAsMisses() {
+        store.put(SharedRepositoryCache.KEY_PREFIX + "java:2024-01-01", new byte[] {1, 0, 0, 0, 9},
+                Duration.ofMinutes(1));
+
+        assertThat(sharedCache.get(QUERY)).isEmpty();
+    }
+
+    @Test
+    void shouldEvictLocalEntryWhenAnotherReplicaInvalidatesIt() {
+        ConcurrentMapCacheManager otherCacheManager = new ConcurrentMapCacheManager();
+        SharedRepositoryCache otherReplica = new SharedRepositoryCache(store, otherCacheManager,
+                query -> Duration.ofMinutes(60));
+        cacheManager.getCache(GitHubService.REPOSITORIES_CACHE).put(QUERY, List.of());
+        otherCacheManager.getCache(GitHubService.REPOSITORIES_CACHE).put(QUERY, List.of());
+
+        otherReplica.invalidateOthers(QUERY);
+
+        assertThat(cacheManager.getCache(GitHubService.REPOSITORIES_CACHE).get(QUERY)).isNull();
+        assertThat(Optional.ofNullable(otherCacheManager.getCache(GitHubService.REPOSITORIES_CACHE).get(QUERY)))
+                .isPresent();
+    }
+
+    @Test
+    void shouldFailWithoutSharedStore() {
+        assertThatThrownBy(() -> new SharedRepositoryCache(new StaticListableBeanFactory()
+                .getBeanProvider(SharedRepositoryStore.class), cacheManager, null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("SharedRepositoryStore");
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.redcare.githubscoring.service;
 
 import com.redcare.githubscoring.model.GitHubRepository;
+import com.redcare.githubscoring.model.RepositoryColumns;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -9,7 +10,10 @@ import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -111,6 +115,35 @@ class WeightedScoringProviderTest {
         }
     }
 
+    @Nested
+    class BatchScoreTests {
+
+        @Test
+        void shouldMatchPerRepositoryScores() {
+            LocalDateTime now = LocalDateTime.now();
+            List<GitHubRepository> repos = List.of(
+                    createRepository(1000, 500, now.minusDays(100), now.minusDays(10)),
+                    createRepository(10, 5, now.minusDays(100), now.minusDays(10)),
+                    createRepository(0, 0, now.minusDays(100), now.minusDays(1)),
+                    createRepository(250, 40, now.minusDays(3650), now.minusDays(90)));
+
+            double[] scores = weightedScoringProvider.scoreAll(RepositoryColumns.of(repos), now.toLocalDate());
+
+            assertThat(scores).hasSize(repos.size());
+            for (int i = 0; i < repos.size(); i++) {
+                assertThat(BigDecimal.valueOf(scores[i]).setScale(2, RoundingMode.HALF_UP))
+                        .isEqualTo(weightedScoringProvider.score(repos.get(i), 1000.0, 500.0));
+            }
+        }
+
+        @Test
+        void shouldHandleEmptyResultSet() {
+            double[] scores = weightedScoringProvider.scoreAll(RepositoryColumns.of(List.of()), LocalDate.now());
+
+            assertThat(scores).isEmpty();
+        }
+    }
+
     private GitHubRepository createRepository(int stars, int forks, 
                                            LocalDateTime createdAt, 
                                            LocalDateTime updatedAt) {